@@ -0,0 +1,22 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+./mvnw -B -q -Pfast-start -DskipTests package
+
+rm -rf target/fast-start
+mkdir -p target/fast-start
+(cd target/fast-start && jar -xf ../database-0.0.1-SNAPSHOT.jar)
+
+cd target/fast-start
+CLASSPATH="BOOT-INF/classes:$(find BOOT-INF/lib -name '*.jar' | sort | paste -sd ':' -)"
+
+java -XX:ArchiveClassesAtExit=application.jsa \
+     -Dspring.aot.enabled=true \
+     -Dspring.profiles.active=fast-start \
+     -Dspring.context.exit=onRefresh \
+     -cp "$CLASSPATH" com.devlamq.database.BooksAPIApplication
+
+echo "$CLASSPATH" > classpath.txt
+echo "CDS archive written to target/fast-start/application.jsa"
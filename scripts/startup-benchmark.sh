@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+MODE="${1:-default}"
+RUNS="${RUNS:-5}"
+URL="${URL:-http://localhost:8080/authors}"
+TIMEOUT="${TIMEOUT:-120}"
+
+case "$MODE" in
+    default)
+        CMD=(java -jar target/database-0.0.1-SNAPSHOT.jar)
+        ;;
+    fast-start)
+        cd target/fast-start
+        CMD=(java -XX:SharedArchiveFile=application.jsa
+             -Dspring.aot.enabled=true
+             -Dspring.profiles.active=fast-start
+             -cp "$(cat classpath.txt)" com.devlamq.database.BooksAPIApplication)
+        ;;
+    *)
+        echo "usage: $0 [default|fast-start]" >&2
+        exit 1
+        ;;
+esac
+
+for run in $(seq 1 "$RUNS"); do
+    start=$(date +%s%N)
+    "${CMD[@]}" > /dev/null 2>&1 &
+    pid=$!
+    deadline=$(( start + TIMEOUT * 1000000000 ))
+    until curl -sf -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "$MODE run $run: application exited before serving $URL" >&2
+            exit 1
+        fi
+        if (( $(date +%s%N) > deadline )); then
+            echo "$MODE run $run: no response from $URL within ${TIMEOUT}s" >&2
+            kill "$pid"
+            wait "$pid" 2> /dev/null || true
+            exit 1
+        fi
+        sleep 0.01
+    done
+    end=$(date +%s%N)
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$MODE run $run: time-to-first-request $(( (end - start) / 1000000 )) ms"
+done
@@ -0,0 +1,29 @@
+package com.devlamq.database.cache;
+
+import com.devlamq.database.compression.CompressionSettings;
+import com.devlamq.database.compression.ContentEncoding;
+import lombok.Value;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Value
+public class CachedResponse {
+
+    long generation;
+
+    String contentType;
+
+    byte[] body;
+
+    Map<ContentEncoding, byte[]> encodedBodies = new EnumMap<>(ContentEncoding.class);
+
+    public byte[] bodyFor(ContentEncoding encoding, CompressionSettings settings) {
+        if (encoding == ContentEncoding.IDENTITY) {
+            return body;
+        }
+        synchronized (encodedBodies) {
+            return encodedBodies.computeIfAbsent(encoding, missing -> settings.compress(missing, body));
+        }
+    }
+}
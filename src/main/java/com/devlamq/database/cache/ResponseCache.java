@@ -0,0 +1,92 @@
+package com.devlamq.database.cache;
+
+import com.devlamq.database.domain.events.AuthorChangedEvent;
+import com.devlamq.database.domain.events.BookChangedEvent;
+import com.devlamq.database.services.CatalogDerivedState;
+import org.springframework.context.event.EventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ResponseCache implements CatalogDerivedState {
+
+    private final long maxBytes;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long usedBytes;
+
+    public ResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public synchronized CachedResponse get(String key) {
+        CachedResponse cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.getGeneration() != generation.get()) {
+            remove(key);
+            return null;
+        }
+        return cached;
+    }
+
+    public synchronized boolean put(String key, long requestGeneration, String contentType, byte[] body) {
+        if (body.length > maxBytes || requestGeneration != generation.get()) {
+            return false;
+        }
+        remove(key);
+        entries.put(key, new CachedResponse(requestGeneration, contentType, body));
+        usedBytes += body.length;
+
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            usedBytes -= eldest.next().getValue().getBody().length;
+            eldest.remove();
+        }
+        return true;
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        invalidate();
+    }
+
+    @EventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        synchronized (this) {
+            entries.clear();
+            usedBytes = 0;
+        }
+    }
+
+    @Override
+    public void reset() {
+        invalidate();
+    }
+
+    private void remove(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            usedBytes -= removed.getBody().length;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.devlamq.database.cache;
+
+import com.devlamq.database.compression.CompressionSettings;
+import com.devlamq.database.compression.ContentEncoding;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private final ResponseCache responseCache;
+
+    private final CompressionSettings compressionSettings;
+
+    public ResponseCacheFilter(ResponseCache responseCache, CompressionSettings compressionSettings) {
+        this.responseCache = responseCache;
+        this.compressionSettings = compressionSettings;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        String key = cacheKey(request.getRequestURI(), request.getQueryString());
+
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            ContentEncoding encoding = compressionSettings == null
+                    ? ContentEncoding.IDENTITY
+                    : compressionSettings.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING), cached.getBody().length);
+            byte[] body = cached.bodyFor(encoding, compressionSettings);
+
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(cached.getContentType());
+            if (encoding != ContentEncoding.IDENTITY) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.getToken());
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            response.setContentLength(body.length);
+            response.setHeader("X-Cache", "HIT");
+            response.getOutputStream().write(body);
+            return;
+        }
+
+        long generation = responseCache.currentGeneration();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() == HttpStatus.OK.value()
+                && responseCache.put(key, generation, wrapper.getContentType(), wrapper.getContentAsByteArray())) {
+            wrapper.setHeader("X-Cache", "MISS");
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    static String cacheKey(String uri, String query) {
+        if (query == null || query.isEmpty()) {
+            return uri;
+        }
+        return uri + "?" + Arrays.stream(query.split("&"))
+                .filter(parameter -> !parameter.isEmpty())
+                .sorted(Comparator.comparing(ResponseCacheFilter::parameterName))
+                .collect(Collectors.joining("&"));
+    }
+
+    private static String parameterName(String parameter) {
+        int equals = parameter.indexOf('=');
+        return equals < 0 ? parameter : parameter.substring(0, equals);
+    }
+}
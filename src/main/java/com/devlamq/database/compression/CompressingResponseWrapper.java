@@ -0,0 +1,275 @@
+package com.devlamq.database.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final CompressionSettings settings;
+
+    private final String acceptEncoding;
+
+    private final ByteArrayOutputStream firstChunk = new ByteArrayOutputStream();
+
+    private long declaredLength = -1;
+
+    private ContentEncoding encoding;
+
+    private OutputStream target;
+
+    private boolean finished;
+
+    private ServletOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    CompressingResponseWrapper(HttpServletResponse response, CompressionSettings settings, String acceptEncoding) {
+        super(response);
+        this.settings = settings;
+        this.acceptEncoding = acceptEncoding;
+    }
+
+    ContentEncoding getEncoding() {
+        return encoding;
+    }
+
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+        if (target == null) {
+            int size = firstChunk.size();
+            decide(size > 0 && size >= settings.getMinResponseSize());
+        }
+        finished = true;
+        if (encoding != ContentEncoding.IDENTITY) {
+            target.close();
+        }
+    }
+
+    private void decide(boolean largeEnough) throws IOException {
+        ContentEncoding negotiated = largeEnough
+                && getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                && settings.isCompressible(getContentType())
+                ? settings.negotiate(acceptEncoding)
+                : ContentEncoding.IDENTITY;
+        encoding = negotiated;
+        if (negotiated == ContentEncoding.IDENTITY) {
+            if (declaredLength >= 0) {
+                super.setContentLengthLong(declaredLength);
+            }
+            target = super.getOutputStream();
+        } else {
+            super.setHeader(HttpHeaders.CONTENT_ENCODING, negotiated.getToken());
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            target = settings.encode(negotiated, new NonClosingOutputStream(super.getOutputStream()));
+        }
+        firstChunk.writeTo(target);
+        firstChunk.reset();
+    }
+
+    private void write(byte[] b, int off, int len) throws IOException {
+        if (target != null) {
+            target.write(b, off, len);
+            return;
+        }
+        firstChunk.write(b, off, len);
+        if (firstChunk.size() >= settings.getMinResponseSize()) {
+            decide(true);
+        }
+    }
+
+    private void declareLength(long length) throws IOException {
+        if (target == null) {
+            declaredLength = length;
+            if (length < settings.getMinResponseSize()) {
+                decide(false);
+            }
+        } else if (encoding == ContentEncoding.IDENTITY) {
+            super.setContentLengthLong(length);
+        }
+    }
+
+    private void flush() throws IOException {
+        if (target != null) {
+            target.flush();
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new CompressingOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        try {
+            declareLength(len);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        flush();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        firstChunk.reset();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        firstChunk.reset();
+        declaredLength = -1;
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        abandon();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        abandon();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        abandon();
+        super.sendRedirect(location);
+    }
+
+    private void abandon() {
+        firstChunk.reset();
+        encoding = ContentEncoding.IDENTITY;
+        finished = true;
+    }
+
+    private final class CompressingOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            CompressingResponseWrapper.this.write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            CompressingResponseWrapper.this.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            CompressingResponseWrapper.this.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new IllegalStateException("Compressed responses are written synchronously");
+        }
+    }
+
+    private static final class NonClosingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+
+        private NonClosingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.flush();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.devlamq.database.compression;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final CompressionSettings settings;
+
+    public CompressionFilter(CompressionSettings settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        CompressingResponseWrapper wrapper =
+                new CompressingResponseWrapper(response, settings, request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        filterChain.doFilter(request, wrapper);
+
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new FinishingListener(wrapper));
+        } else {
+            wrapper.finish();
+        }
+    }
+
+    private static final class FinishingListener implements AsyncListener {
+
+        private final CompressingResponseWrapper wrapper;
+
+        private FinishingListener(CompressingResponseWrapper wrapper) {
+            this.wrapper = wrapper;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) throws IOException {
+            wrapper.finish();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.devlamq.database.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Set;
+
+public class CompressionSettings {
+
+    private final Set<ContentEncoding> enabled;
+
+    private final int minResponseSize;
+
+    private final int zstdLevel;
+
+    private final int gzipLevel;
+
+    public CompressionSettings(Set<ContentEncoding> enabled, int minResponseSize, int zstdLevel, int gzipLevel) {
+        this.enabled = enabled;
+        this.minResponseSize = minResponseSize;
+        this.zstdLevel = zstdLevel;
+        this.gzipLevel = gzipLevel;
+    }
+
+    public int getMinResponseSize() {
+        return minResponseSize;
+    }
+
+    public ContentEncoding negotiate(String acceptEncoding) {
+        return ContentEncoding.negotiate(acceptEncoding, enabled);
+    }
+
+    public ContentEncoding negotiate(String acceptEncoding, int bodyLength) {
+        if (bodyLength < minResponseSize) {
+            return ContentEncoding.IDENTITY;
+        }
+        return negotiate(acceptEncoding);
+    }
+
+    public boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.startsWith("text/") || type.contains("json") || type.contains("xml") || type.contains("javascript");
+    }
+
+    public byte[] compress(ContentEncoding encoding, byte[] body) {
+        return encoding.compress(body, level(encoding));
+    }
+
+    public OutputStream encode(ContentEncoding encoding, OutputStream out) throws IOException {
+        return encoding.wrap(out, level(encoding));
+    }
+
+    private int level(ContentEncoding encoding) {
+        return encoding == ContentEncoding.ZSTD ? zstdLevel : gzipLevel;
+    }
+}
@@ -0,0 +1,134 @@
+package com.devlamq.database.compression;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+public enum ContentEncoding {
+
+    ZSTD("zstd") {
+        @Override
+        public byte[] compress(byte[] body, int level) {
+            return Zstd.compress(body, level);
+        }
+
+        @Override
+        public OutputStream wrap(OutputStream out, int level) throws IOException {
+            return new ZstdOutputStream(out, level);
+        }
+    },
+
+    GZIP("gzip") {
+        @Override
+        public byte[] compress(byte[] body, int level) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+            try (OutputStream gzip = wrap(out, level)) {
+                gzip.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+
+        @Override
+        public OutputStream wrap(OutputStream out, int level) throws IOException {
+            return new LeveledGzipOutputStream(out, level);
+        }
+    },
+
+    IDENTITY("identity") {
+        @Override
+        public byte[] compress(byte[] body, int level) {
+            return body;
+        }
+
+        @Override
+        public OutputStream wrap(OutputStream out, int level) {
+            return out;
+        }
+    };
+
+    private static final String ANY = "*";
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public abstract byte[] compress(byte[] body, int level);
+
+    public abstract OutputStream wrap(OutputStream out, int level) throws IOException;
+
+    public static ContentEncoding negotiate(String acceptEncoding, Set<ContentEncoding> enabled) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return IDENTITY;
+        }
+        Map<String, Double> weights = weights(acceptEncoding);
+        Double any = weights.get(ANY);
+
+        ContentEncoding best = IDENTITY;
+        double bestWeight = 0;
+        for (ContentEncoding encoding : values()) {
+            if (encoding == IDENTITY || !enabled.contains(encoding)) {
+                continue;
+            }
+            double weight = weights.getOrDefault(encoding.token, any == null ? 0 : any);
+            if (weight > bestWeight) {
+                best = encoding;
+                bestWeight = weight;
+            }
+        }
+        Double identity = weights.get(IDENTITY.token);
+        return identity != null && identity > bestWeight ? IDENTITY : best;
+    }
+
+    private static Map<String, Double> weights(String acceptEncoding) {
+        Map<String, Double> weights = new HashMap<>();
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.trim().split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.isEmpty()) {
+                weights.merge(coding, weight(parts), Math::max);
+            }
+        }
+        return weights;
+    }
+
+    private static double weight(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    double weight = Double.parseDouble(parameter.substring(2));
+                    return Double.isNaN(weight) ? 0 : Math.max(0, Math.min(1, weight));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        private LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, 8192, true);
+            def.setLevel(level < 0 ? Deflater.DEFAULT_COMPRESSION : level);
+        }
+    }
+}
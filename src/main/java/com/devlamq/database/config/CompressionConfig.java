@@ -0,0 +1,43 @@
+package com.devlamq.database.config;
+
+import com.devlamq.database.compression.CompressionFilter;
+import com.devlamq.database.compression.CompressionSettings;
+import com.devlamq.database.compression.ContentEncoding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+@Configuration
+@ConditionalOnProperty(name = "books.compression.enabled", havingValue = "true")
+public class CompressionConfig {
+
+    @Bean
+    public CompressionSettings compressionSettings(
+            @Value("${books.compression.encodings:zstd,gzip}") Set<String> encodings,
+            @Value("${books.compression.min-response-size:2KB}") DataSize minResponseSize,
+            @Value("${books.compression.zstd-level:3}") int zstdLevel,
+            @Value("${books.compression.gzip-level:6}") int gzipLevel) {
+        Set<ContentEncoding> enabled = EnumSet.noneOf(ContentEncoding.class);
+        for (String encoding : encodings) {
+            enabled.add(ContentEncoding.valueOf(encoding.trim().toUpperCase(Locale.ROOT)));
+        }
+        return new CompressionSettings(enabled, (int) minResponseSize.toBytes(), zstdLevel, gzipLevel);
+    }
+
+    @Bean
+    public FilterRegistrationBean<CompressionFilter> compressionFilter(CompressionSettings compressionSettings) {
+        FilterRegistrationBean<CompressionFilter> registration =
+                new FilterRegistrationBean<>(new CompressionFilter(compressionSettings));
+        registration.addUrlPatterns("/books", "/books/*", "/authors", "/authors/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -0,0 +1,45 @@
+package com.devlamq.database.config;
+
+import com.devlamq.database.idempotency.IdempotencyFilter;
+import com.devlamq.database.idempotency.IdempotencyStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "books.idempotency.enabled", havingValue = "true")
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(
+            @Value("${books.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${books.idempotency.ttl:PT24H}") Duration ttl) {
+        return new IdempotencyStore(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore idempotencyStore,
+            @Value("${books.idempotency.in-flight-wait:PT30S}") Duration inFlightWait,
+            @Value("${books.rate-limit.trust-client-id-header:false}") boolean trustClientIdHeader) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyStore, inFlightWait, trustClientIdHeader));
+        registration.addUrlPatterns("/books/*", "/authors", "/authors/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 25);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder idempotencyMetrics(IdempotencyStore idempotencyStore) {
+        return registry -> Gauge.builder("books.idempotency.stored", idempotencyStore, IdempotencyStore::size)
+                .register(registry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.devlamq.database.config;
+
+import com.devlamq.database.invalidation.InProcessInvalidationTransport;
+import com.devlamq.database.invalidation.InvalidationBus;
+import com.devlamq.database.invalidation.InvalidationTransport;
+import com.devlamq.database.invalidation.PostgresInvalidationTransport;
+import com.devlamq.database.services.CatalogDerivedState;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "books.invalidation.enabled", havingValue = "true")
+public class InvalidationConfig {
+
+    @Bean
+    public InvalidationTransport invalidationTransport(
+            DataSource dataSource,
+            DataSourceProperties dataSourceProperties,
+            @Value("${books.invalidation.transport:postgres}") String transport,
+            @Value("${books.invalidation.channel:books_invalidation}") String channel,
+            @Value("${books.invalidation.max-staleness:PT1S}") Duration maxStaleness) {
+        if ("in-process".equals(transport)) {
+            return new InProcessInvalidationTransport(channel);
+        }
+        return new PostgresInvalidationTransport(
+                dataSource,
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword(),
+                channel,
+                (int) Math.max(1, maxStaleness.toMillis() / 2));
+    }
+
+    @Bean(initMethod = "start")
+    public InvalidationBus invalidationBus(
+            InvalidationTransport invalidationTransport,
+            ApplicationEventPublisher eventPublisher,
+            List<CatalogDerivedState> derivedStates,
+            @Value("${books.invalidation.max-staleness:PT1S}") Duration maxStaleness) {
+        return new InvalidationBus(
+                invalidationTransport,
+                eventPublisher,
+                () -> derivedStates.forEach(CatalogDerivedState::reset),
+                maxStaleness.dividedBy(2));
+    }
+
+    @Bean
+    public MeterBinder invalidationMetrics(InvalidationBus invalidationBus) {
+        return registry -> {
+            FunctionCounter.builder("books.invalidation.sent", invalidationBus, InvalidationBus::getSentMessages)
+                    .description("Invalidations published to other nodes")
+                    .register(registry);
+            FunctionCounter.builder("books.invalidation.payloads", invalidationBus, InvalidationBus::getSentPayloads)
+                    .description("Batched notification payloads published")
+                    .register(registry);
+            FunctionCounter.builder("books.invalidation.received", invalidationBus, InvalidationBus::getReceivedMessages)
+                    .description("Invalidations applied from other nodes")
+                    .register(registry);
+            FunctionCounter.builder("books.invalidation.resyncs", invalidationBus, InvalidationBus::getResyncs)
+                    .description("Local state resets after (re)subscribing to invalidations")
+                    .register(registry);
+            Gauge.builder("books.invalidation.lag", invalidationBus, InvalidationBus::getLastLagMillis)
+                    .description("Milliseconds between a remote batch being sent and applied here")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.devlamq.database.config;
+
+import com.devlamq.database.json.CatalogJsonHttpMessageConverter;
+import com.devlamq.database.json.JsonOutputPool;
+import com.devlamq.database.json.ParallelJsonWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+public class JsonConfig {
+
+    @Bean
+    public JsonOutputPool jsonOutputPool(
+            @Value("${books.json.pooled-buffers:64}") int pooledBuffers,
+            @Value("${books.json.buffer-size:8KB}") DataSize bufferSize) {
+        return new JsonOutputPool(pooledBuffers, (int) bufferSize.toBytes());
+    }
+
+    @Bean
+    public ParallelJsonWriter parallelJsonWriter(
+            JsonOutputPool jsonOutputPool,
+            @Value("${books.json.parallelism:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int parallelism,
+            @Value("${books.json.parallel-threshold:50000}") int parallelThreshold,
+            @Value("${books.json.chunk-size:4096}") int chunkSize) {
+        return new ParallelJsonWriter(jsonOutputPool, parallelism, parallelThreshold, chunkSize);
+    }
+
+    @Bean
+    public CatalogJsonHttpMessageConverter catalogJsonHttpMessageConverter(ParallelJsonWriter parallelJsonWriter) {
+        return new CatalogJsonHttpMessageConverter(parallelJsonWriter);
+    }
+}
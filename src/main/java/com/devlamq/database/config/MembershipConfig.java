@@ -0,0 +1,45 @@
+package com.devlamq.database.config;
+
+import com.devlamq.database.membership.CatalogMembership;
+import com.devlamq.database.membership.MembershipIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MembershipConfig {
+
+    @Bean
+    public MeterBinder membershipMetrics(CatalogMembership catalogMembership) {
+        return registry -> {
+            bind(registry, "isbn", catalogMembership.getIsbns());
+            bind(registry, "author", catalogMembership.getAuthorIds());
+        };
+    }
+
+    private static void bind(MeterRegistry registry, String filter, MembershipIndex<?> index) {
+        Gauge.builder("books.membership.bytes", index, MembershipIndex::getSizeInBytes)
+                .description("Memory used by the membership Bloom filter")
+                .tag("filter", filter)
+                .register(registry);
+        Gauge.builder("books.membership.false-positive-rate.estimated", index, MembershipIndex::getEstimatedFalsePositiveRate)
+                .description("False-positive rate implied by the filter's fill ratio")
+                .tag("filter", filter)
+                .register(registry);
+        Gauge.builder("books.membership.false-positive-rate.observed", index, MembershipIndex::getObservedFalsePositiveRate)
+                .description("Share of absent keys the filter reported as possibly present")
+                .tag("filter", filter)
+                .register(registry);
+        FunctionCounter.builder("books.membership.definite-misses", index, MembershipIndex::getDefiniteMisses)
+                .description("Lookups answered as absent without querying the database")
+                .tag("filter", filter)
+                .register(registry);
+        FunctionCounter.builder("books.membership.false-positives", index, MembershipIndex::getFalsePositives)
+                .description("Lookups the filter let through that the database reported absent")
+                .tag("filter", filter)
+                .register(registry);
+    }
+}
@@ -0,0 +1,70 @@
+package com.devlamq.database.config;
+
+import com.devlamq.database.ratelimit.ClientRateLimiter;
+import com.devlamq.database.ratelimit.ConcurrencyLimiter;
+import com.devlamq.database.ratelimit.RateLimitFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnProperty(name = "books.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(
+            @Value("${books.rate-limit.capacity:100}") long capacity,
+            @Value("${books.rate-limit.refill-per-second:50}") long refillPerSecond) {
+        return new ClientRateLimiter(capacity, refillPerSecond);
+    }
+
+    @Bean
+    public ConcurrencyLimiter concurrencyLimiter(
+            @Value("${books.rate-limit.min-concurrent:8}") int minConcurrent,
+            @Value("${books.rate-limit.max-concurrent:200}") int maxConcurrent,
+            @Value("${books.rate-limit.target-latency-ms:250}") long targetLatencyMs) {
+        return new ConcurrencyLimiter(minConcurrent, maxConcurrent, TimeUnit.MILLISECONDS.toNanos(targetLatencyMs));
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            ClientRateLimiter clientRateLimiter,
+            ConcurrencyLimiter concurrencyLimiter,
+            DataSource dataSource,
+            @Value("${books.rate-limit.max-pool-waiters:10}") int maxPoolWaiters,
+            @Value("${books.rate-limit.list-cost:20}") long listCost,
+            @Value("${books.rate-limit.write-cost:2}") long writeCost,
+            @Value("${books.rate-limit.trust-client-id-header:false}") boolean trustClientIdHeader) {
+        RateLimitFilter filter = new RateLimitFilter(
+                clientRateLimiter,
+                concurrencyLimiter,
+                () -> hikariPool(dataSource),
+                maxPoolWaiters,
+                listCost,
+                writeCost,
+                trustClientIdHeader);
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/books", "/books/*", "/authors", "/authors/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static HikariPoolMXBean hikariPool(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean()
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
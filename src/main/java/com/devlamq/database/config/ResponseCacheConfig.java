@@ -0,0 +1,33 @@
+package com.devlamq.database.config;
+
+import com.devlamq.database.cache.ResponseCache;
+import com.devlamq.database.cache.ResponseCacheFilter;
+import com.devlamq.database.compression.CompressionSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(name = "books.response-cache.enabled", havingValue = "true")
+public class ResponseCacheConfig {
+
+    @Bean
+    public ResponseCache responseCache(@Value("${books.response-cache.max-bytes:67108864}") long maxBytes) {
+        return new ResponseCache(maxBytes);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(
+            ResponseCache responseCache,
+            ObjectProvider<CompressionSettings> compressionSettings) {
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(
+                new ResponseCacheFilter(responseCache, compressionSettings.getIfAvailable()));
+        registration.addUrlPatterns("/books", "/authors");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+        return registration;
+    }
+}
@@ -0,0 +1,104 @@
+package com.devlamq.database.config;
+
+import com.devlamq.database.sharding.ReshardingEndpoint;
+import com.devlamq.database.sharding.ReshardingTool;
+import com.devlamq.database.sharding.Shard;
+import com.devlamq.database.sharding.ShardRouter;
+import com.devlamq.database.sharding.ShardedAuthorRepository;
+import com.devlamq.database.sharding.ShardedBookRepository;
+import com.devlamq.database.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(name = "books.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties properties) {
+        List<Shard> shards = new ArrayList<>();
+        for (ShardingProperties.ShardDataSource shard : properties.getShards()) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            dataSource.setPoolName("shard-" + shard.getName());
+
+            String vendor = DatabaseDriver.fromJdbcUrl(shard.getUrl()).getId();
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:db/migration/common", "classpath:db/migration/" + vendor)
+                    .baselineOnMigrate(true)
+                    .baselineVersion("0")
+                    .load()
+                    .migrate();
+            shards.add(new Shard(shard.getName(), dataSource, DatabaseDriver.H2.getId().equals(vendor)));
+        }
+
+        int activeShards = properties.getActiveShards() > 0 ? properties.getActiveShards() : shards.size();
+        return new ShardRouter(shards, activeShards, properties.getVirtualNodes());
+    }
+
+    @Bean
+    public ExecutorService shardExecutor(ShardingProperties properties) {
+        return Executors.newFixedThreadPool(Math.max(2, properties.getShards().size() * 2));
+    }
+
+    @Bean
+    public ExecutorService reshardingExecutor() {
+        return Executors.newSingleThreadExecutor();
+    }
+
+    @Bean
+    @Primary
+    public ShardedAuthorRepository shardedAuthorRepository(ShardRouter shardRouter) {
+        return new ShardedAuthorRepository(shardRouter.getConfiguredShards());
+    }
+
+    @Bean
+    @Primary
+    public ShardedBookRepository shardedBookRepository(
+            ShardRouter shardRouter,
+            ShardedAuthorRepository shardedAuthorRepository,
+            ExecutorService shardExecutor) {
+        return new ShardedBookRepository(shardRouter, shardedAuthorRepository, shardExecutor);
+    }
+
+    @Bean
+    public ReshardingTool reshardingTool(
+            ShardRouter shardRouter,
+            ShardedBookRepository shardedBookRepository,
+            ShardedAuthorRepository shardedAuthorRepository,
+            ShardingProperties properties,
+            ExecutorService reshardingExecutor) {
+        return new ReshardingTool(
+                shardRouter,
+                shardedBookRepository,
+                shardedAuthorRepository,
+                properties.getReshardBatchSize(),
+                reshardingExecutor);
+    }
+
+    @Bean
+    public ReshardingEndpoint reshardingEndpoint(
+            ShardRouter shardRouter,
+            ReshardingTool reshardingTool,
+            ShardedAuthorRepository shardedAuthorRepository) {
+        return new ReshardingEndpoint(shardRouter, reshardingTool, shardedAuthorRepository);
+    }
+}
@@ -0,0 +1,64 @@
+package com.devlamq.database.config;
+
+import com.devlamq.database.concurrent.SingleFlight;
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Optional;
+
+@Configuration
+public class SingleFlightConfig {
+
+    @Bean
+    public SingleFlight<String, Optional<BookEntity>> bookLookups() {
+        return new SingleFlight<>(book -> book.map(SingleFlightConfig::copyOf));
+    }
+
+    @Bean
+    public SingleFlight<Long, Optional<AuthorEntity>> authorLookups() {
+        return new SingleFlight<>(author -> author.map(SingleFlightConfig::copyOf));
+    }
+
+    @Bean
+    public MeterBinder singleFlightMetrics(
+            SingleFlight<String, Optional<BookEntity>> bookLookups,
+            SingleFlight<Long, Optional<AuthorEntity>> authorLookups) {
+        return registry -> {
+            bind(registry, "book", bookLookups);
+            bind(registry, "author", authorLookups);
+        };
+    }
+
+    private static BookEntity copyOf(BookEntity book) {
+        return BookEntity.builder()
+                .isbn(book.getIsbn())
+                .title(book.getTitle())
+                .authorEntity(book.getAuthorEntity() == null ? null : copyOf(book.getAuthorEntity()))
+                .build();
+    }
+
+    private static AuthorEntity copyOf(AuthorEntity author) {
+        return AuthorEntity.builder()
+                .id(author.getId())
+                .name(author.getName())
+                .age(author.getAge())
+                .deletedAt(author.getDeletedAt())
+                .build();
+    }
+
+    private static void bind(MeterRegistry registry, String entity, SingleFlight<?, ?> singleFlight) {
+        FunctionCounter.builder("books.lookups.executed", singleFlight, SingleFlight::getExecutions)
+                .tag("entity", entity)
+                .description("Point lookups that issued a database query")
+                .register(registry);
+        FunctionCounter.builder("books.lookups.coalesced", singleFlight, SingleFlight::getCoalesced)
+                .tag("entity", entity)
+                .description("Point lookups that joined an in-flight query")
+                .register(registry);
+    }
+}
@@ -0,0 +1,61 @@
+package com.devlamq.database.config;
+
+import com.devlamq.database.repositories.AuthorRepository;
+import com.devlamq.database.services.cleanup.AuthorTombstones;
+import com.devlamq.database.services.impl.BookServiceImpl;
+import com.devlamq.database.snapshot.CatalogSnapshot;
+import com.devlamq.database.snapshot.CatalogSnapshotBuilder;
+import com.devlamq.database.snapshot.SnapshotBookService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(name = "books.snapshot.enabled", havingValue = "true")
+public class SnapshotConfig {
+
+    @Bean
+    public CatalogSnapshotBuilder catalogSnapshotBuilder(
+            JdbcTemplate jdbcTemplate,
+            @Value("${books.snapshot.directory:${java.io.tmpdir}/books-snapshot}") Path directory) {
+        return new CatalogSnapshotBuilder(jdbcTemplate, directory);
+    }
+
+    @Bean
+    @Primary
+    public SnapshotBookService snapshotBookService(
+            BookServiceImpl bookServiceImpl,
+            AuthorRepository authorRepository,
+            CatalogSnapshotBuilder catalogSnapshotBuilder,
+            AuthorTombstones authorTombstones) {
+        return new SnapshotBookService(bookServiceImpl, authorRepository, catalogSnapshotBuilder, authorTombstones);
+    }
+
+    @Bean
+    public MeterBinder snapshotMetrics(SnapshotBookService snapshotBookService) {
+        return registry -> {
+            Gauge.builder("books.snapshot.bytes", snapshotBookService, service -> {
+                        CatalogSnapshot snapshot = service.getSnapshot();
+                        return snapshot == null ? 0 : snapshot.getSizeInBytes();
+                    })
+                    .description("Size of the memory-mapped catalog snapshot")
+                    .register(registry);
+            Gauge.builder("books.snapshot.books", snapshotBookService, service -> {
+                        CatalogSnapshot snapshot = service.getSnapshot();
+                        return snapshot == null ? 0 : snapshot.getBookCount();
+                    })
+                    .description("Books served from the catalog snapshot")
+                    .register(registry);
+            Gauge.builder("books.snapshot.overlay", snapshotBookService, SnapshotBookService::getOverlaySize)
+                    .description("Changed books and authors read through to the database until the next rebuild")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.devlamq.database.config;
+
+import com.devlamq.database.sqlprofile.ProfilingDataSource;
+import com.devlamq.database.sqlprofile.SqlProfileEndpoint;
+import com.devlamq.database.sqlprofile.SqlProfileFilter;
+import com.devlamq.database.sqlprofile.SqlProfiler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "books.sql-profile.enabled", havingValue = "true")
+public class SqlProfileConfig {
+
+    @Bean
+    public SqlProfiler sqlProfiler(
+            @Value("${books.sql-profile.ring-buffer-size:8192}") int ringBufferSize,
+            @Value("${books.sql-profile.max-logged-statements:50}") int maxLoggedStatements) {
+        return new SqlProfiler(ringBufferSize, maxLoggedStatements);
+    }
+
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor(ObjectProvider<SqlProfiler> sqlProfiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProfilingDataSource)) {
+                    return new ProfilingDataSource(dataSource, sqlProfiler.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlProfileFilter> sqlProfileFilter(
+            SqlProfiler sqlProfiler,
+            @Value("${books.sql-profile.slow-statement-count:20}") int slowStatementCount,
+            @Value("${books.sql-profile.slow-db-time:PT0.5S}") Duration slowDbTime,
+            @Value("${books.sql-profile.slow-acquire-time:PT0.1S}") Duration slowAcquireTime) {
+        FilterRegistrationBean<SqlProfileFilter> registration = new FilterRegistrationBean<>(
+                new SqlProfileFilter(sqlProfiler, slowStatementCount, slowDbTime, slowAcquireTime));
+        registration.addUrlPatterns("/books", "/books/*", "/authors", "/authors/*", "/stats");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    @Bean
+    public SqlProfileEndpoint sqlProfileEndpoint(
+            SqlProfiler sqlProfiler,
+            @Value("${books.sql-profile.top-shapes:20}") int topShapes) {
+        return new SqlProfileEndpoint(sqlProfiler, topShapes);
+    }
+}
@@ -0,0 +1,23 @@
+package com.devlamq.database.config;
+
+import com.devlamq.database.suggest.BookSuggestions;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SuggestConfig {
+
+    @Bean
+    public MeterBinder suggestMetrics(BookSuggestions bookSuggestions) {
+        return registry -> {
+            Gauge.builder("books.suggest.bytes", bookSuggestions, BookSuggestions::getSizeInBytes)
+                    .description("Memory used by the compacted suggestion tries")
+                    .register(registry);
+            Gauge.builder("books.suggest.pending-changes", bookSuggestions, BookSuggestions::getPendingChanges)
+                    .description("Book changes held outside the tries until the next rebuild")
+                    .register(registry);
+        };
+    }
+}
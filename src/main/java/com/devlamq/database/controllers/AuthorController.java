@@ -2,6 +2,7 @@ package com.devlamq.database.controllers;
 
 import com.devlamq.database.domain.dto.AuthorDto;
 import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.json.CatalogJson;
 import com.devlamq.database.mappers.Mapper;
 import com.devlamq.database.services.AuthorService;
 import lombok.extern.java.Log;
@@ -11,7 +12,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @Log
@@ -34,20 +34,16 @@ public class AuthorController {
     }
 
     @GetMapping( path = "/authors")
-    public List<AuthorDto> listAuthors() {
+    public CatalogJson<AuthorEntity> listAuthors() {
         List<AuthorEntity> authors = authorService.findAll();
-        return authors.stream()
-                .map(authorMapper::mapTo)
-                .collect(Collectors.toList());
+        return CatalogJson.authors(authors);
     }
 
     @GetMapping( path = "/authors/{id}")
-    public ResponseEntity<AuthorDto> getAuthor(@PathVariable("id") Long id) {
+    public ResponseEntity<CatalogJson<AuthorEntity>> getAuthor(@PathVariable("id") Long id) {
         Optional<AuthorEntity> foundAuthor = authorService.findOne(id);
-        return foundAuthor.map(authorEntity -> {
-            AuthorDto authorDto = authorMapper.mapTo(authorEntity);
-            return new ResponseEntity<>(authorDto, HttpStatus.OK);
-        }).orElse( new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        return foundAuthor.map(authorEntity -> new ResponseEntity<>(CatalogJson.author(authorEntity), HttpStatus.OK)
+        ).orElse( new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @PutMapping(path = "authors/{id}")
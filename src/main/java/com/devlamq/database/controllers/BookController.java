@@ -1,17 +1,18 @@
 package com.devlamq.database.controllers;
 
-import com.devlamq.database.domain.dto.AuthorDto;
 import com.devlamq.database.domain.dto.BookDto;
 import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.json.CatalogJson;
 import com.devlamq.database.mappers.Mapper;
 import com.devlamq.database.services.BookService;
+import com.devlamq.database.suggest.BookSuggestions;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 public class BookController {
@@ -20,9 +21,19 @@ public class BookController {
 
     private BookService bookService;
 
-    public BookController(Mapper<BookEntity, BookDto> bookMapper, BookService bookService) {
+    private BookSuggestions bookSuggestions;
+
+    private int maxPageSize;
+
+    public BookController(
+            Mapper<BookEntity, BookDto> bookMapper,
+            BookService bookService,
+            BookSuggestions bookSuggestions,
+            @Value("${books.list.max-page-size:10000}") int maxPageSize) {
         this.bookMapper = bookMapper;
         this.bookService = bookService;
+        this.bookSuggestions = bookSuggestions;
+        this.maxPageSize = maxPageSize;
     }
 
     @PutMapping(path = "/books/{isbn}")
@@ -43,20 +54,20 @@ public class BookController {
     }
 
     @GetMapping(path = "/books")
-    public List<BookDto> listBooks() {
-        List<BookEntity> books = bookService.findAll();
-        return books.stream()
-                .map(bookMapper::mapTo)
-                .collect(Collectors.toList());
+    public CatalogJson<BookEntity> listBooks(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        List<BookEntity> books = limit == null
+                ? bookService.findAll()
+                : bookService.findPage(after, Math.min(Math.max(limit, 1), maxPageSize));
+        return CatalogJson.books(books);
     }
 
     @GetMapping( path = "books/{isbn}")
-    public ResponseEntity<BookDto> getBook(@PathVariable("isbn") String isbn) {
+    public ResponseEntity<CatalogJson<BookEntity>> getBook(@PathVariable("isbn") String isbn) {
         Optional<BookEntity> foundBook = bookService.findOne(isbn);
-        return foundBook.map( bookEntity -> {
-            BookDto bookDto = bookMapper.mapTo(bookEntity);
-            return new ResponseEntity<>(bookDto, HttpStatus.OK);
-                }
+        foundBook.ifPresent(bookSuggestions::recordRead);
+        return foundBook.map( bookEntity -> new ResponseEntity<>(CatalogJson.book(bookEntity), HttpStatus.OK)
         ).orElse( new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
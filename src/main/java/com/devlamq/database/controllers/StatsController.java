@@ -0,0 +1,37 @@
+package com.devlamq.database.controllers;
+
+import com.devlamq.database.domain.dto.AuthorStatsDto;
+import com.devlamq.database.domain.dto.CatalogStatsDto;
+import com.devlamq.database.services.AuthorService;
+import com.devlamq.database.services.StatsService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class StatsController {
+
+    private StatsService statsService;
+
+    private AuthorService authorService;
+
+    public StatsController(StatsService statsService, AuthorService authorService) {
+        this.statsService = statsService;
+        this.authorService = authorService;
+    }
+
+    @GetMapping(path = "/stats")
+    public CatalogStatsDto catalogStats() {
+        return statsService.catalogStats();
+    }
+
+    @GetMapping(path = "/authors/{id}/stats")
+    public ResponseEntity<AuthorStatsDto> authorStats(@PathVariable("id") Long id) {
+        if (!authorService.isExist(id)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(statsService.authorStats(id), HttpStatus.OK);
+    }
+}
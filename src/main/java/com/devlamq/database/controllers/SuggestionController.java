@@ -0,0 +1,37 @@
+package com.devlamq.database.controllers;
+
+import com.devlamq.database.domain.dto.BookSuggestionDto;
+import com.devlamq.database.suggest.BookSuggestions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class SuggestionController {
+
+    private BookSuggestions bookSuggestions;
+
+    private int defaultResults;
+
+    private int maxResults;
+
+    public SuggestionController(
+            BookSuggestions bookSuggestions,
+            @Value("${books.suggest.default-results:10}") int defaultResults,
+            @Value("${books.suggest.max-results:50}") int maxResults) {
+        this.bookSuggestions = bookSuggestions;
+        this.defaultResults = defaultResults;
+        this.maxResults = maxResults;
+    }
+
+    @GetMapping(path = "/books/suggest")
+    public List<BookSuggestionDto> suggest(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        int results = limit == null ? defaultResults : Math.min(Math.max(limit, 1), maxResults);
+        return bookSuggestions.suggest(prefix, results);
+    }
+}
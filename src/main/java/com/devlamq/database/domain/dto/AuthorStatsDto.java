@@ -0,0 +1,19 @@
+package com.devlamq.database.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AuthorStatsDto {
+
+    private Long authorId;
+
+    private String name;
+
+    private Long bookCount;
+}
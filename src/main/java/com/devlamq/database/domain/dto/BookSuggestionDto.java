@@ -0,0 +1,19 @@
+package com.devlamq.database.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookSuggestionDto {
+
+    private String isbn;
+
+    private String title;
+
+    private Long reads;
+}
@@ -0,0 +1,22 @@
+package com.devlamq.database.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CatalogStatsDto {
+
+    private Long totalBooks;
+
+    private List<AuthorStatsDto> topAuthors;
+
+    private Instant reconciledAt;
+}
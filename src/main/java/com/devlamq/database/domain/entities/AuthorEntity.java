@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -22,4 +24,7 @@ public class AuthorEntity {
 
     private Integer age;
 
+    @Column(insertable = false, updatable = false)
+    private Instant deletedAt;
+
 }
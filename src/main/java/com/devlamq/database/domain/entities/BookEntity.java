@@ -15,8 +15,10 @@ import lombok.NoArgsConstructor;
 public class BookEntity {
 
     @Id
+    @Column(length = 17)
     private String isbn;
 
+    @Column(length = 512)
     private String title;
 
     @ManyToOne(cascade = CascadeType.ALL)
@@ -0,0 +1,11 @@
+package com.devlamq.database.domain.events;
+
+import lombok.Value;
+
+@Value
+public class AuthorBooksDeletedEvent {
+
+    Long authorId;
+
+    long deletedBooks;
+}
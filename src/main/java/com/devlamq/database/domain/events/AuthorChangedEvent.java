@@ -0,0 +1,9 @@
+package com.devlamq.database.domain.events;
+
+import lombok.Value;
+
+@Value
+public class AuthorChangedEvent {
+
+    Long id;
+}
@@ -0,0 +1,44 @@
+package com.devlamq.database.domain.events;
+
+import com.devlamq.database.domain.entities.BookEntity;
+import lombok.Value;
+
+@Value
+public class BookChangedEvent {
+
+    String isbn;
+
+    boolean existedBefore;
+
+    Long previousAuthorId;
+
+    boolean existsAfter;
+
+    Long authorId;
+
+    String title;
+
+    public static BookChangedEvent saved(String isbn, boolean existedBefore, Long previousAuthorId, BookEntity saved) {
+        return new BookChangedEvent(
+                isbn,
+                existedBefore,
+                previousAuthorId,
+                true,
+                authorIdOf(saved),
+                saved.getTitle());
+    }
+
+    public static BookChangedEvent deleted(String isbn, boolean existedBefore, Long previousAuthorId) {
+        return new BookChangedEvent(
+                isbn,
+                existedBefore,
+                previousAuthorId,
+                false,
+                null,
+                null);
+    }
+
+    public static Long authorIdOf(BookEntity book) {
+        return book.getAuthorEntity() == null ? null : book.getAuthorEntity().getId();
+    }
+}
@@ -0,0 +1,69 @@
+package com.devlamq.database.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class IdempotencyStore {
+
+    private final int maxEntries;
+
+    private final long ttlMillis;
+
+    private final Clock clock;
+
+    private final LinkedHashMap<String, IdempotentResponse> completed = new LinkedHashMap<>();
+
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(int maxEntries, Duration ttl, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    public synchronized IdempotentResponse get(String key) {
+        evictExpired();
+        return completed.get(key);
+    }
+
+    public CompletableFuture<IdempotentResponse> claim(String key, CompletableFuture<IdempotentResponse> execution) {
+        return inFlight.putIfAbsent(key, execution);
+    }
+
+    public void complete(String key, CompletableFuture<IdempotentResponse> execution, IdempotentResponse response) {
+        if (response != null) {
+            synchronized (this) {
+                completed.remove(key);
+                completed.put(key, response);
+                evictExpired();
+                Iterator<String> eldest = completed.keySet().iterator();
+                while (completed.size() > maxEntries && eldest.hasNext()) {
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+        }
+        inFlight.remove(key, execution);
+        execution.complete(response);
+    }
+
+    public long expiresAt() {
+        return clock.millis() + ttlMillis;
+    }
+
+    public synchronized int size() {
+        return completed.size();
+    }
+
+    private void evictExpired() {
+        long now = clock.millis();
+        Iterator<IdempotentResponse> eldest = completed.values().iterator();
+        while (eldest.hasNext() && eldest.next().getExpiresAtMillis() <= now) {
+            eldest.remove();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.devlamq.database.idempotency;
+
+import lombok.Value;
+
+@Value
+public class IdempotentResponse {
+
+    String fingerprint;
+
+    int status;
+
+    String contentType;
+
+    byte[] body;
+
+    long expiresAtMillis;
+}
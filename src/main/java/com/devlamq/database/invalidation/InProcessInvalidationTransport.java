@@ -0,0 +1,46 @@
+package com.devlamq.database.invalidation;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class InProcessInvalidationTransport implements InvalidationTransport {
+
+    private static final ConcurrentHashMap<String, List<Consumer<String>>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+
+    private volatile Consumer<String> receiver;
+
+    public InProcessInvalidationTransport(String channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public int maxPayloadBytes() {
+        return 64 * 1024;
+    }
+
+    @Override
+    public void send(String payload) {
+        CHANNELS.getOrDefault(channel, List.of()).forEach(subscriber -> subscriber.accept(payload));
+    }
+
+    @Override
+    public void start(Consumer<String> receiver, Runnable onConnected) {
+        this.receiver = receiver;
+        CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>()).add(receiver);
+    }
+
+    @Override
+    public void close() {
+        Consumer<String> subscribed = receiver;
+        if (subscribed != null) {
+            CHANNELS.computeIfPresent(channel, (name, subscribers) -> {
+                subscribers.remove(subscribed);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.devlamq.database.invalidation;
+
+import com.devlamq.database.domain.events.AuthorBooksDeletedEvent;
+import com.devlamq.database.domain.events.AuthorChangedEvent;
+import com.devlamq.database.domain.events.AuthorDeletedEvent;
+import com.devlamq.database.domain.events.BookChangedEvent;
+import lombok.extern.java.Log;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+@Log
+public class InvalidationBus implements AutoCloseable {
+
+    private static final ThreadLocal<Boolean> APPLYING_REMOTE = ThreadLocal.withInitial(() -> false);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final InvalidationTransport transport;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Runnable resync;
+
+    private final long flushIntervalMillis;
+
+    private final Clock clock;
+
+    private final ScheduledExecutorService flusher;
+
+    private final ConcurrentLinkedQueue<Object> pending = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder sentMessages = new LongAdder();
+
+    private final LongAdder sentPayloads = new LongAdder();
+
+    private final LongAdder receivedMessages = new LongAdder();
+
+    private final LongAdder resyncs = new LongAdder();
+
+    private volatile long lastLagMillis;
+
+    public InvalidationBus(
+            InvalidationTransport transport,
+            ApplicationEventPublisher eventPublisher,
+            Runnable resync,
+            Duration flushInterval) {
+        this(transport, eventPublisher, resync, flushInterval, Clock.systemUTC(), Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "invalidation-flusher");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    InvalidationBus(
+            InvalidationTransport transport,
+            ApplicationEventPublisher eventPublisher,
+            Runnable resync,
+            Duration flushInterval,
+            Clock clock,
+            ScheduledExecutorService flusher) {
+        this.transport = transport;
+        this.eventPublisher = eventPublisher;
+        this.resync = resync;
+        this.flushIntervalMillis = Math.max(1, flushInterval.toMillis());
+        this.clock = clock;
+        this.flusher = flusher;
+    }
+
+    public void start() {
+        transport.start(this::receive, this::resync);
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        enqueue(event);
+    }
+
+    @EventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        enqueue(event);
+    }
+
+    @EventListener
+    public void onAuthorDeleted(AuthorDeletedEvent event) {
+        enqueue(event);
+    }
+
+    @EventListener
+    public void onAuthorBooksDeleted(AuthorBooksDeletedEvent event) {
+        enqueue(event);
+    }
+
+    public synchronized void flush() {
+        List<Object> batch = new ArrayList<>();
+        for (Object event = pending.poll(); event != null; event = pending.poll()) {
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            for (String payload : InvalidationMessages.encode(
+                    nodeId, clock.millis(), batch, transport.maxPayloadBytes())) {
+                transport.send(payload);
+                sentPayloads.increment();
+            }
+            sentMessages.add(batch.size());
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, "Could not publish " + batch.size() + " invalidations, other nodes may serve stale data", e);
+        }
+    }
+
+    void receive(String payload) {
+        InvalidationMessages.Batch batch;
+        try {
+            batch = InvalidationMessages.decode(payload);
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, "Ignoring malformed invalidation message", e);
+            return;
+        }
+        if (nodeId.equals(batch.getNodeId())) {
+            return;
+        }
+        APPLYING_REMOTE.set(true);
+        try {
+            batch.getEvents().forEach(eventPublisher::publishEvent);
+        } finally {
+            APPLYING_REMOTE.remove();
+        }
+        receivedMessages.add(batch.getEvents().size());
+        lastLagMillis = Math.max(0, clock.millis() - batch.getSentAtMillis());
+    }
+
+    void resync() {
+        try {
+            resync.run();
+            resyncs.increment();
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, "Could not reset local state after subscribing to invalidations, "
+                    + "it may stay stale until its next scheduled refresh", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        flush();
+        transport.close();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long getSentMessages() {
+        return sentMessages.sum();
+    }
+
+    public long getSentPayloads() {
+        return sentPayloads.sum();
+    }
+
+    public long getReceivedMessages() {
+        return receivedMessages.sum();
+    }
+
+    public long getResyncs() {
+        return resyncs.sum();
+    }
+
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    private void enqueue(Object event) {
+        if (!APPLYING_REMOTE.get()) {
+            pending.add(event);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.devlamq.database.invalidation;
+
+import com.devlamq.database.domain.events.AuthorBooksDeletedEvent;
+import com.devlamq.database.domain.events.AuthorChangedEvent;
+import com.devlamq.database.domain.events.AuthorDeletedEvent;
+import com.devlamq.database.domain.events.BookChangedEvent;
+import lombok.Value;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class InvalidationMessages {
+
+    private static final String VERSION = "1";
+
+    private InvalidationMessages() {
+    }
+
+    @Value
+    public static class Batch {
+
+        String nodeId;
+
+        long sentAtMillis;
+
+        List<Object> events;
+    }
+
+    public static List<String> encode(String nodeId, long sentAtMillis, List<Object> events, int maxPayloadBytes) {
+        String header = VERSION + ' ' + nodeId + ' ' + sentAtMillis;
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(header);
+        for (Object event : events) {
+            String line = encode(event);
+            if (payload.length() > header.length() && payload.length() + 1 + line.length() > maxPayloadBytes) {
+                payloads.add(payload.toString());
+                payload.setLength(0);
+                payload.append(header);
+            }
+            payload.append('\n').append(line);
+        }
+        if (payload.length() > header.length()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    public static Batch decode(String payload) {
+        String[] lines = payload.split("\n");
+        String[] header = lines[0].split(" ");
+        if (!VERSION.equals(header[0])) {
+            throw new IllegalArgumentException("Unsupported invalidation message version: " + header[0]);
+        }
+        List<Object> events = new ArrayList<>(lines.length - 1);
+        for (int i = 1; i < lines.length; i++) {
+            events.add(decodeEvent(lines[i].split(" ", -1)));
+        }
+        return new Batch(header[1], Long.parseLong(header[2]), events);
+    }
+
+    private static String encode(Object event) {
+        if (event instanceof BookChangedEvent book) {
+            int flags = (book.isExistedBefore() ? 1 : 0) | (book.isExistsAfter() ? 2 : 0);
+            return "B " + encodeText(book.getIsbn()) + ' ' + flags + ' '
+                    + id(book.getPreviousAuthorId()) + ' ' + id(book.getAuthorId()) + ' ' + encodeText(book.getTitle());
+        }
+        if (event instanceof AuthorChangedEvent author) {
+            return "A " + author.getId();
+        }
+        if (event instanceof AuthorDeletedEvent author) {
+            return "X " + author.getId();
+        }
+        if (event instanceof AuthorBooksDeletedEvent books) {
+            return "D " + books.getAuthorId() + ' ' + books.getDeletedBooks();
+        }
+        throw new IllegalArgumentException("Unsupported invalidation event: " + event);
+    }
+
+    private static Object decodeEvent(String[] fields) {
+        return switch (fields[0]) {
+            case "B" -> {
+                int flags = Integer.parseInt(fields[2]);
+                yield new BookChangedEvent(
+                        decodeText(fields[1]),
+                        (flags & 1) != 0,
+                        id(fields[3]),
+                        (flags & 2) != 0,
+                        id(fields[4]),
+                        decodeText(fields[5]));
+            }
+            case "A" -> new AuthorChangedEvent(Long.parseLong(fields[1]));
+            case "X" -> new AuthorDeletedEvent(Long.parseLong(fields[1]));
+            case "D" -> new AuthorBooksDeletedEvent(Long.parseLong(fields[1]), Long.parseLong(fields[2]));
+            default -> throw new IllegalArgumentException("Unknown invalidation message type: " + fields[0]);
+        };
+    }
+
+    private static String encodeText(String value) {
+        return value == null ? "~" : URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decodeText(String field) {
+        return "~".equals(field) ? null : URLDecoder.decode(field, StandardCharsets.UTF_8);
+    }
+
+    private static String id(Long id) {
+        return id == null ? "-" : id.toString();
+    }
+
+    private static Long id(String field) {
+        return "-".equals(field) ? null : Long.valueOf(field);
+    }
+}
@@ -0,0 +1,20 @@
+package com.devlamq.database.invalidation;
+
+import java.util.function.Consumer;
+
+public interface InvalidationTransport extends AutoCloseable {
+
+    int maxPayloadBytes();
+
+    void send(String payload);
+
+    /**
+     * Starts delivering payloads to {@code receiver}. {@code onConnected} runs every time the transport
+     * (re)subscribes, before any payload sent after that point is delivered, so that state which may have
+     * missed payloads while disconnected can be reset.
+     */
+    void start(Consumer<String> receiver, Runnable onConnected);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,114 @@
+package com.devlamq.database.invalidation;
+
+import lombok.extern.java.Log;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+
+@Log
+public class PostgresInvalidationTransport implements InvalidationTransport {
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String listenUrl;
+
+    private final String listenUsername;
+
+    private final String listenPassword;
+
+    private final String channel;
+
+    private final int pollMillis;
+
+    private volatile boolean running;
+
+    private Thread listener;
+
+    public PostgresInvalidationTransport(
+            DataSource dataSource,
+            String listenUrl,
+            String listenUsername,
+            String listenPassword,
+            String channel,
+            int pollMillis) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel name: " + channel);
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.listenUrl = listenUrl;
+        this.listenUsername = listenUsername;
+        this.listenPassword = listenPassword;
+        this.channel = channel;
+        this.pollMillis = pollMillis;
+    }
+
+    @Override
+    public int maxPayloadBytes() {
+        return 7_900;
+    }
+
+    @Override
+    public void send(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> { }, channel, payload);
+    }
+
+    @Override
+    public synchronized void start(Consumer<String> receiver, Runnable onConnected) {
+        running = true;
+        listener = new Thread(() -> listen(receiver, onConnected), "invalidation-listener-" + channel);
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listen(Consumer<String> receiver, Runnable onConnected) {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(listenUrl, listenUsername, listenPassword)) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                onConnected.run();
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(pollMillis);
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            receiver.accept(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.log(Level.WARNING, "Invalidation listener on " + channel
+                        + " lost its connection, local state will be reset once it reconnects", e);
+                try {
+                    Thread.sleep(pollMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.devlamq.database.json;
+
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+
+import java.io.IOException;
+import java.util.List;
+
+public final class CatalogJson<T> {
+
+    @FunctionalInterface
+    interface ElementWriter<T> {
+        void write(JsonOutput output, T element) throws IOException;
+    }
+
+    private final List<T> elements;
+
+    private final boolean array;
+
+    private final ElementWriter<T> elementWriter;
+
+    private CatalogJson(List<T> elements, boolean array, ElementWriter<T> elementWriter) {
+        this.elements = elements;
+        this.array = array;
+        this.elementWriter = elementWriter;
+    }
+
+    public static CatalogJson<BookEntity> book(BookEntity book) {
+        return new CatalogJson<>(List.of(book), false, CatalogJsonWriter::writeBook);
+    }
+
+    public static CatalogJson<BookEntity> books(List<BookEntity> books) {
+        return new CatalogJson<>(books, true, CatalogJsonWriter::writeBook);
+    }
+
+    public static CatalogJson<AuthorEntity> author(AuthorEntity author) {
+        return new CatalogJson<>(List.of(author), false, CatalogJsonWriter::writeAuthor);
+    }
+
+    public static CatalogJson<AuthorEntity> authors(List<AuthorEntity> authors) {
+        return new CatalogJson<>(authors, true, CatalogJsonWriter::writeAuthor);
+    }
+
+    public boolean isArray() {
+        return array;
+    }
+
+    public int size() {
+        return elements.size();
+    }
+
+    void writeTo(JsonOutput output) throws IOException {
+        if (!array) {
+            elementWriter.write(output, elements.get(0));
+            return;
+        }
+        output.writeByte((byte) '[');
+        writeElements(output, 0, elements.size());
+        output.writeByte((byte) ']');
+    }
+
+    void writeElements(JsonOutput output, int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            if (i > 0) {
+                output.writeByte((byte) ',');
+            }
+            elementWriter.write(output, elements.get(i));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.devlamq.database.json;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+public class CatalogJsonHttpMessageConverter extends AbstractHttpMessageConverter<CatalogJson<?>> {
+
+    private final ParallelJsonWriter writer;
+
+    public CatalogJsonHttpMessageConverter(ParallelJsonWriter writer) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.writer = writer;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return CatalogJson.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected CatalogJson<?> readInternal(Class<? extends CatalogJson<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("CatalogJson is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(CatalogJson<?> catalogJson, HttpOutputMessage outputMessage) throws IOException {
+        writer.write(catalogJson, outputMessage.getBody());
+    }
+}
@@ -0,0 +1,76 @@
+package com.devlamq.database.json;
+
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public final class CatalogJsonWriter {
+
+    private static final byte[] BOOK_ISBN = ascii("{\"isbn\":");
+
+    private static final byte[] BOOK_TITLE = ascii(",\"title\":");
+
+    private static final byte[] BOOK_AUTHOR = ascii(",\"author\":");
+
+    private static final byte[] AUTHOR_ID = ascii("{\"id\":");
+
+    private static final byte[] AUTHOR_NAME = ascii(",\"name\":");
+
+    private static final byte[] AUTHOR_AGE = ascii(",\"age\":");
+
+    private CatalogJsonWriter() {
+    }
+
+    public static void writeBooks(JsonOutput output, List<BookEntity> books) throws IOException {
+        output.writeByte((byte) '[');
+        for (int i = 0; i < books.size(); i++) {
+            if (i > 0) {
+                output.writeByte((byte) ',');
+            }
+            writeBook(output, books.get(i));
+        }
+        output.writeByte((byte) ']');
+    }
+
+    public static void writeBook(JsonOutput output, BookEntity book) throws IOException {
+        output.writeRaw(BOOK_ISBN);
+        output.writeString(book.getIsbn());
+        output.writeRaw(BOOK_TITLE);
+        output.writeString(book.getTitle());
+        output.writeRaw(BOOK_AUTHOR);
+        writeAuthor(output, book.getAuthorEntity());
+        output.writeByte((byte) '}');
+    }
+
+    public static void writeAuthors(JsonOutput output, List<AuthorEntity> authors) throws IOException {
+        output.writeByte((byte) '[');
+        for (int i = 0; i < authors.size(); i++) {
+            if (i > 0) {
+                output.writeByte((byte) ',');
+            }
+            writeAuthor(output, authors.get(i));
+        }
+        output.writeByte((byte) ']');
+    }
+
+    public static void writeAuthor(JsonOutput output, AuthorEntity author) throws IOException {
+        if (author == null) {
+            output.writeNull();
+            return;
+        }
+        output.writeRaw(AUTHOR_ID);
+        output.writeNumber(author.getId());
+        output.writeRaw(AUTHOR_NAME);
+        output.writeString(author.getName());
+        output.writeRaw(AUTHOR_AGE);
+        output.writeNumber(author.getAge());
+        output.writeByte((byte) '}');
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
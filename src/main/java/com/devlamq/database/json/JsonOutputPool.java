@@ -0,0 +1,25 @@
+package com.devlamq.database.json;
+
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+
+public class JsonOutputPool {
+
+    private final ArrayBlockingQueue<JsonOutput> idle;
+
+    private final int bufferSize;
+
+    public JsonOutputPool(int capacity, int bufferSize) {
+        this.idle = new ArrayBlockingQueue<>(capacity);
+        this.bufferSize = bufferSize;
+    }
+
+    public JsonOutput acquire(OutputStream target) {
+        JsonOutput output = idle.poll();
+        return (output == null ? new JsonOutput(bufferSize) : output).reset(target);
+    }
+
+    public void release(JsonOutput output) {
+        idle.offer(output.reset(null));
+    }
+}
@@ -0,0 +1,109 @@
+package com.devlamq.database.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+public class ParallelJsonWriter implements AutoCloseable {
+
+    private static final int ESTIMATED_ELEMENT_BYTES = 128;
+
+    private final JsonOutputPool outputPool;
+
+    private final ForkJoinPool executor;
+
+    private final int threshold;
+
+    private final int chunkSize;
+
+    private final int maxChunksInFlight;
+
+    public ParallelJsonWriter(JsonOutputPool outputPool, int parallelism, int threshold, int chunkSize) {
+        this.outputPool = outputPool;
+        this.executor = new ForkJoinPool(parallelism);
+        this.threshold = threshold;
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = parallelism * 2;
+    }
+
+    public void write(CatalogJson<?> catalogJson, OutputStream target) throws IOException {
+        if (!catalogJson.isArray() || catalogJson.size() < threshold) {
+            writeSequential(catalogJson, target);
+        } else {
+            writeChunked(catalogJson, target);
+        }
+    }
+
+    public void writeSequential(CatalogJson<?> catalogJson, OutputStream target) throws IOException {
+        JsonOutput output = outputPool.acquire(target);
+        try {
+            catalogJson.writeTo(output);
+            output.flush();
+        } finally {
+            outputPool.release(output);
+        }
+    }
+
+    public void writeChunked(CatalogJson<?> catalogJson, OutputStream target) throws IOException {
+        int size = catalogJson.size();
+        ArrayDeque<Future<byte[]>> chunks = new ArrayDeque<>(maxChunksInFlight);
+        int nextChunk = 0;
+        try {
+            target.write('[');
+            while (nextChunk < size || !chunks.isEmpty()) {
+                while (nextChunk < size && chunks.size() < maxChunksInFlight) {
+                    int from = nextChunk;
+                    int to = Math.min(size, from + chunkSize);
+                    chunks.add(executor.submit(() -> serializeChunk(catalogJson, from, to)));
+                    nextChunk = to;
+                }
+                target.write(await(chunks.poll()));
+            }
+            target.write(']');
+            target.flush();
+        } finally {
+            chunks.forEach(chunk -> chunk.cancel(false));
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private byte[] serializeChunk(CatalogJson<?> catalogJson, int from, int to) {
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream((to - from) * ESTIMATED_ELEMENT_BYTES);
+        JsonOutput output = outputPool.acquire(chunk);
+        try {
+            catalogJson.writeElements(output, from, to);
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            outputPool.release(output);
+        }
+        return chunk.toByteArray();
+    }
+
+    private static byte[] await(Future<byte[]> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while serializing response", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+}
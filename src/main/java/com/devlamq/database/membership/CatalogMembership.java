@@ -0,0 +1,104 @@
+package com.devlamq.database.membership;
+
+import com.devlamq.database.domain.events.AuthorChangedEvent;
+import com.devlamq.database.domain.events.BookChangedEvent;
+import com.devlamq.database.repositories.AuthorRepository;
+import com.devlamq.database.repositories.BookRepository;
+import com.devlamq.database.services.CatalogDerivedState;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Log
+public class CatalogMembership implements CatalogDerivedState {
+
+    private final BookRepository bookRepository;
+
+    private final AuthorRepository authorRepository;
+
+    private final boolean enabled;
+
+    private final int scanBatchSize;
+
+    private final MembershipIndex<String> isbns;
+
+    private final MembershipIndex<Long> authorIds;
+
+    public CatalogMembership(
+            BookRepository bookRepository,
+            AuthorRepository authorRepository,
+            @Value("${books.membership.enabled:false}") boolean enabled,
+            @Value("${books.membership.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${books.membership.scan-batch-size:10000}") int scanBatchSize) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.enabled = enabled;
+        this.scanBatchSize = scanBatchSize;
+        this.isbns = new MembershipIndex<>(BloomFilter::hash, falsePositiveRate);
+        this.authorIds = new MembershipIndex<>(BloomFilter::hash, falsePositiveRate);
+    }
+
+    @PostConstruct
+    @Scheduled(
+            initialDelayString = "${books.membership.rebuild-interval:PT1H}",
+            fixedDelayString = "${books.membership.rebuild-interval:PT1H}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        isbns.rebuild(bookRepository.count(), add -> {
+            List<String> page = bookRepository.findIsbnsAfter("", Limit.of(scanBatchSize));
+            while (!page.isEmpty()) {
+                page.forEach(add);
+                page = page.size() < scanBatchSize
+                        ? List.of()
+                        : bookRepository.findIsbnsAfter(page.get(page.size() - 1), Limit.of(scanBatchSize));
+            }
+        });
+        authorIds.rebuild(authorRepository.count(), add -> {
+            List<Long> page = authorRepository.findIdsAfter(Long.MIN_VALUE, Limit.of(scanBatchSize));
+            while (!page.isEmpty()) {
+                page.forEach(add);
+                page = page.size() < scanBatchSize
+                        ? List.of()
+                        : authorRepository.findIdsAfter(page.get(page.size() - 1), Limit.of(scanBatchSize));
+            }
+        });
+        log.info("Membership filters rebuilt in " + (System.nanoTime() - start) / 1_000_000 + " ms: "
+                + isbns.getSizeInBytes() + " bytes for ISBNs, " + authorIds.getSizeInBytes() + " bytes for authors");
+    }
+
+    @Override
+    public void reset() {
+        rebuild();
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.isExistsAfter()) {
+            isbns.add(event.getIsbn());
+            authorIds.add(event.getAuthorId());
+        }
+    }
+
+    @EventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        authorIds.add(event.getId());
+    }
+
+    public MembershipIndex<String> getIsbns() {
+        return isbns;
+    }
+
+    public MembershipIndex<Long> getAuthorIds() {
+        return authorIds;
+    }
+}
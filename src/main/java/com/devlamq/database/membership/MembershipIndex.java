@@ -0,0 +1,114 @@
+package com.devlamq.database.membership;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+public class MembershipIndex<K> {
+
+    private final ToLongFunction<K> hasher;
+
+    private final double falsePositiveRate;
+
+    private final LongAdder definiteMisses = new LongAdder();
+
+    private final LongAdder falsePositives = new LongAdder();
+
+    private volatile BloomFilter current;
+
+    private volatile BloomFilter building;
+
+    public MembershipIndex(ToLongFunction<K> hasher, double falsePositiveRate) {
+        this.hasher = hasher;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public synchronized void rebuild(long expectedKeys, Consumer<Consumer<K>> scan) {
+        BloomFilter next = new BloomFilter(Math.max(1024, expectedKeys * 2), falsePositiveRate);
+        building = next;
+        try {
+            scan.accept(key -> next.put(hasher.applyAsLong(key)));
+            current = next;
+        } finally {
+            building = null;
+        }
+    }
+
+    public void add(K key) {
+        if (key == null) {
+            return;
+        }
+        long hash = hasher.applyAsLong(key);
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(hash);
+        }
+        BloomFilter filter = current;
+        if (filter != null && filter != next) {
+            filter.put(hash);
+        }
+    }
+
+    public boolean mightContain(K key) {
+        BloomFilter filter = current;
+        if (filter == null || key == null || filter.mightContain(hasher.applyAsLong(key))) {
+            return true;
+        }
+        definiteMisses.increment();
+        return false;
+    }
+
+    public boolean exists(K key, BooleanSupplier lookup) {
+        if (!mightContain(key)) {
+            return false;
+        }
+        return record(lookup.getAsBoolean());
+    }
+
+    public <T> Optional<T> find(K key, Supplier<Optional<T>> lookup) {
+        if (!mightContain(key)) {
+            return Optional.empty();
+        }
+        Optional<T> found = lookup.get();
+        record(found.isPresent());
+        return found;
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    public long getSizeInBytes() {
+        BloomFilter filter = current;
+        return filter == null ? 0 : filter.getSizeInBytes();
+    }
+
+    public double getEstimatedFalsePositiveRate() {
+        BloomFilter filter = current;
+        return filter == null ? 0 : filter.estimatedFalsePositiveRate();
+    }
+
+    public double getObservedFalsePositiveRate() {
+        long misses = falsePositives.sum();
+        long negatives = misses + definiteMisses.sum();
+        return negatives == 0 ? 0 : (double) misses / negatives;
+    }
+
+    public long getDefiniteMisses() {
+        return definiteMisses.sum();
+    }
+
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    private boolean record(boolean present) {
+        if (!present && current != null) {
+            falsePositives.increment();
+        }
+        return present;
+    }
+}
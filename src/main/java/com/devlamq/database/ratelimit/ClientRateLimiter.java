@@ -0,0 +1,46 @@
+package com.devlamq.database.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class ClientRateLimiter {
+
+    private final long capacity;
+
+    private final long refillPerSecond;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public ClientRateLimiter(long capacity, long refillPerSecond) {
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+    }
+
+    public long tryAcquire(String clientId, long cost) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(clientId, id -> new TokenBucket(capacity, refillPerSecond, now));
+        if (bucket.tryConsume(cost, now)) {
+            return 0;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilAvailable(cost, now) + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    public void refund(String clientId, long cost) {
+        TokenBucket bucket = buckets.get(clientId);
+        if (bucket != null) {
+            bucket.refund(cost, System.nanoTime());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${books.rate-limit.prune-interval:PT10S}")
+    public void prune() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    public int getTrackedClients() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,100 @@
+package com.devlamq.database.ratelimit;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private final ClientRateLimiter rateLimiter;
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    private final Supplier<HikariPoolMXBean> pool;
+
+    private final int maxPoolWaiters;
+
+    private final long listCost;
+
+    private final long writeCost;
+
+    private final boolean trustClientIdHeader;
+
+    public RateLimitFilter(
+            ClientRateLimiter rateLimiter,
+            ConcurrencyLimiter concurrencyLimiter,
+            Supplier<HikariPoolMXBean> pool,
+            int maxPoolWaiters,
+            long listCost,
+            long writeCost,
+            boolean trustClientIdHeader) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.pool = pool;
+        this.maxPoolWaiters = maxPoolWaiters;
+        this.listCost = listCost;
+        this.writeCost = writeCost;
+        this.trustClientIdHeader = trustClientIdHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        String clientId = clientId(request);
+        long cost = cost(request);
+        long retryAfter = rateLimiter.tryAcquire(clientId, cost);
+        if (retryAfter > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter);
+            return;
+        }
+
+        HikariPoolMXBean poolMXBean = pool.get();
+        boolean poolSaturated = poolMXBean != null && poolMXBean.getThreadsAwaitingConnection() > maxPoolWaiters;
+        if (poolSaturated || !concurrencyLimiter.tryAcquire()) {
+            rateLimiter.refund(clientId, cost);
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - start);
+        }
+    }
+
+    private long cost(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (HttpMethod.GET.matches(request.getMethod())) {
+            return path.equals("/books") || path.equals("/authors") ? listCost : 1;
+        }
+        return writeCost;
+    }
+
+    private String clientId(HttpServletRequest request) {
+        if (request.getUserPrincipal() != null) {
+            return "principal:" + request.getUserPrincipal().getName();
+        }
+        String clientId = trustClientIdHeader ? request.getHeader(CLIENT_ID_HEADER) : null;
+        return clientId != null ? "client:" + clientId : "address:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    }
+}
@@ -0,0 +1,68 @@
+package com.devlamq.database.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TokenBucket {
+
+    private final double capacity;
+
+    private final double refillPerNano;
+
+    private final AtomicReference<State> state;
+
+    public TokenBucket(long capacity, long refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / (double) TimeUnit.SECONDS.toNanos(1);
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    public boolean tryConsume(long cost, long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double tokens = refill(current, nowNanos);
+            if (tokens < cost) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(tokens - cost, Math.max(nowNanos, current.timestampNanos)))) {
+                return true;
+            }
+        }
+    }
+
+    public void refund(long cost, long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double tokens = Math.min(capacity, refill(current, nowNanos) + cost);
+            if (state.compareAndSet(current, new State(tokens, Math.max(nowNanos, current.timestampNanos)))) {
+                return;
+            }
+        }
+    }
+
+    public long nanosUntilAvailable(long cost, long nowNanos) {
+        double missing = cost - refill(state.get(), nowNanos);
+        return missing <= 0 ? 0 : (long) Math.ceil(missing / refillPerNano);
+    }
+
+    public boolean isFull(long nowNanos) {
+        return refill(state.get(), nowNanos) >= capacity;
+    }
+
+    private double refill(State current, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - current.timestampNanos);
+        return Math.min(capacity, current.tokens + elapsed * refillPerNano);
+    }
+
+    private static final class State {
+
+        private final double tokens;
+
+        private final long timestampNanos;
+
+        private State(double tokens, long timestampNanos) {
+            this.tokens = tokens;
+            this.timestampNanos = timestampNanos;
+        }
+    }
+}
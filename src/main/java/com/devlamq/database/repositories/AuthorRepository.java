@@ -1,7 +1,29 @@
 package com.devlamq.database.repositories;
 
 import com.devlamq.database.domain.entities.AuthorEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
 
 public interface AuthorRepository extends CrudRepository<AuthorEntity, Long> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE authors SET deleted_at = :deletedAt WHERE id = :id AND deleted_at IS NULL", nativeQuery = true)
+    int markDeleted(@Param("id") Long id, @Param("deletedAt") Instant deletedAt);
+
+    @Query("select a.id from AuthorEntity a where a.deletedAt is not null")
+    List<Long> findDeletedIds();
+
+    @Query("select a.id from AuthorEntity a where a.deletedAt < :cutoff")
+    List<Long> findDeletedIdsBefore(@Param("cutoff") Instant cutoff);
+
+    @Query("select a.id from AuthorEntity a where a.id > :afterId order by a.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
 }
@@ -1,7 +1,28 @@
 package com.devlamq.database.repositories;
 
 import com.devlamq.database.domain.entities.BookEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 public interface BookRepository extends CrudRepository<BookEntity, String> {
+
+    List<BookEntity> findByIsbnGreaterThanOrderByIsbn(String isbn, Limit limit);
+
+    @Query("select b.isbn from BookEntity b where b.isbn > :afterIsbn order by b.isbn")
+    List<String> findIsbnsAfter(@Param("afterIsbn") String afterIsbn, Limit limit);
+
+    @Query("select b.authorEntity.id, count(b) from BookEntity b group by b.authorEntity.id")
+    List<Object[]> countBooksByAuthor();
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM books WHERE isbn IN "
+            + "(SELECT isbn FROM books WHERE author_id = :authorId LIMIT :batchSize)", nativeQuery = true)
+    int deleteBatchByAuthorId(@Param("authorId") Long authorId, @Param("batchSize") int batchSize);
 }
@@ -11,6 +11,8 @@ public interface BookService {
 
     List<BookEntity> findAll();
 
+    List<BookEntity> findPage(String afterIsbn, int limit);
+
     Optional<BookEntity> findOne(String isbn);
 
     boolean isExists(String isbn);
@@ -0,0 +1,6 @@
+package com.devlamq.database.services;
+
+public interface CatalogDerivedState {
+
+    void reset();
+}
@@ -0,0 +1,15 @@
+package com.devlamq.database.services;
+
+import com.devlamq.database.domain.dto.AuthorStatsDto;
+import com.devlamq.database.domain.dto.CatalogStatsDto;
+
+public interface StatsService {
+
+    CatalogStatsDto catalogStats();
+
+    AuthorStatsDto authorStats(Long authorId);
+
+    void reconcile();
+
+    void refreshTopAuthors();
+}
@@ -0,0 +1,76 @@
+package com.devlamq.database.services.cleanup;
+
+import com.devlamq.database.domain.events.AuthorBooksDeletedEvent;
+import com.devlamq.database.domain.events.AuthorChangedEvent;
+import com.devlamq.database.repositories.AuthorRepository;
+import com.devlamq.database.repositories.BookRepository;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.logging.Level;
+
+@Component
+@Log
+public class AuthorReaper {
+
+    private final AuthorRepository authorRepository;
+
+    private final BookRepository bookRepository;
+
+    private final AuthorTombstones tombstones;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int batchSize;
+
+    private final Duration gracePeriod;
+
+    public AuthorReaper(
+            AuthorRepository authorRepository,
+            BookRepository bookRepository,
+            AuthorTombstones tombstones,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${books.reaper.batch-size:1000}") int batchSize,
+            @Value("${books.reaper.grace-period:PT1M}") Duration gracePeriod) {
+        this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.tombstones = tombstones;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.gracePeriod = gracePeriod;
+    }
+
+    @Scheduled(fixedDelayString = "${books.reaper.interval:PT10S}")
+    public void reap() {
+        tombstones.refresh(authorRepository::findDeletedIds);
+        for (Long authorId : authorRepository.findDeletedIdsBefore(Instant.now().minus(gracePeriod))) {
+            try {
+                reap(authorId);
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Could not reap author " + authorId + ", will retry", e);
+            }
+        }
+    }
+
+    private void reap(Long authorId) {
+        long deletedBooks = 0;
+        int deleted;
+        do {
+            deleted = bookRepository.deleteBatchByAuthorId(authorId, batchSize);
+            deletedBooks += deleted;
+            if (deleted > 0) {
+                eventPublisher.publishEvent(new AuthorBooksDeletedEvent(authorId, deleted));
+            }
+        } while (deleted > 0);
+
+        authorRepository.deleteById(authorId);
+        tombstones.remove(authorId);
+        eventPublisher.publishEvent(new AuthorChangedEvent(authorId));
+        log.info("Reaped author " + authorId + " and " + deletedBooks + " books");
+    }
+}
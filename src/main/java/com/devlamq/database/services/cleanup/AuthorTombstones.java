@@ -0,0 +1,81 @@
+package com.devlamq.database.services.cleanup;
+
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.domain.events.AuthorDeletedEvent;
+import com.devlamq.database.repositories.AuthorRepository;
+import com.devlamq.database.services.CatalogDerivedState;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+public class AuthorTombstones implements CatalogDerivedState {
+
+    private final AuthorRepository authorRepository;
+
+    private final Set<Long> recentlyAdded = ConcurrentHashMap.newKeySet();
+
+    private volatile Set<Long> authorIds = ConcurrentHashMap.newKeySet();
+
+    public AuthorTombstones(AuthorRepository authorRepository) {
+        this.authorRepository = authorRepository;
+    }
+
+    @PostConstruct
+    public void load() {
+        refresh(authorRepository::findDeletedIds);
+    }
+
+    @Override
+    public void reset() {
+        load();
+    }
+
+    public synchronized List<Long> refresh(Supplier<List<Long>> deletedIds) {
+        recentlyAdded.clear();
+        List<Long> stored = deletedIds.get();
+        Set<Long> loaded = ConcurrentHashMap.newKeySet();
+        loaded.addAll(stored);
+        authorIds = loaded;
+        loaded.addAll(recentlyAdded);
+        return stored;
+    }
+
+    public void add(Long authorId) {
+        recentlyAdded.add(authorId);
+        authorIds.add(authorId);
+    }
+
+    @EventListener
+    public void onAuthorDeleted(AuthorDeletedEvent event) {
+        add(event.getId());
+    }
+
+    public void remove(Long authorId) {
+        recentlyAdded.remove(authorId);
+        authorIds.remove(authorId);
+    }
+
+    public boolean isEmpty() {
+        return authorIds.isEmpty();
+    }
+
+    public boolean isDeleted(Long authorId) {
+        Set<Long> deleted = authorIds;
+        return authorId != null && !deleted.isEmpty() && deleted.contains(authorId);
+    }
+
+    public boolean isDeleted(AuthorEntity author) {
+        return author != null && isDeleted(author.getId());
+    }
+
+    public boolean isHidden(BookEntity book) {
+        return book != null && isDeleted(book.getAuthorEntity());
+    }
+}
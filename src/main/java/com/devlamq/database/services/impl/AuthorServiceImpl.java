@@ -1,11 +1,19 @@
 package com.devlamq.database.services.impl;
 
+import com.devlamq.database.concurrent.SingleFlight;
 import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.events.AuthorChangedEvent;
+import com.devlamq.database.domain.events.AuthorDeletedEvent;
 import com.devlamq.database.mappers.impl.AuthorMapperImpl;
+import com.devlamq.database.membership.CatalogMembership;
+import com.devlamq.database.membership.MembershipIndex;
 import com.devlamq.database.repositories.AuthorRepository;
 import com.devlamq.database.services.AuthorService;
+import com.devlamq.database.services.cleanup.AuthorTombstones;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -16,13 +24,33 @@ public class AuthorServiceImpl implements AuthorService {
 
     private AuthorRepository authorRepository;
 
-    public AuthorServiceImpl(AuthorRepository authorRepository){
+    private ApplicationEventPublisher eventPublisher;
+
+    private SingleFlight<Long, Optional<AuthorEntity>> authorLookups;
+
+    private AuthorTombstones tombstones;
+
+    private MembershipIndex<Long> authorIds;
+
+    public AuthorServiceImpl(
+            AuthorRepository authorRepository,
+            ApplicationEventPublisher eventPublisher,
+            SingleFlight<Long, Optional<AuthorEntity>> authorLookups,
+            AuthorTombstones tombstones,
+            CatalogMembership membership) {
         this.authorRepository = authorRepository;
+        this.eventPublisher = eventPublisher;
+        this.authorLookups = authorLookups;
+        this.tombstones = tombstones;
+        this.authorIds = membership.getAuthorIds();
     }
 
     @Override
     public AuthorEntity save(AuthorEntity authorEntity) {
-        return authorRepository.save(authorEntity);
+        AuthorEntity savedAuthor = authorRepository.save(authorEntity);
+        authorLookups.invalidate(savedAuthor.getId());
+        eventPublisher.publishEvent(new AuthorChangedEvent(savedAuthor.getId()));
+        return savedAuthor;
     }
 
     @Override
@@ -30,33 +58,47 @@ public class AuthorServiceImpl implements AuthorService {
         return StreamSupport.stream(authorRepository
                         .findAll()
                         .spliterator(), false)
+                .filter(author -> !tombstones.isDeleted(author))
                 .collect(Collectors.toList());
     }
 
     @Override
     public Optional<AuthorEntity> findOne(Long id) {
-        return authorRepository.findById(id);
+        if (tombstones.isDeleted(id)) {
+            return Optional.empty();
+        }
+        return authorIds.find(id, () -> authorLookups.execute(id, () -> authorRepository.findById(id)));
     }
 
     @Override
     public boolean isExist(Long id) {
-        return authorRepository.existsById(id);
+        return !tombstones.isDeleted(id) && authorIds.exists(id, () -> authorRepository.existsById(id));
     }
 
     @Override
     public AuthorEntity partialUpdate(Long id, AuthorEntity authorEntity) {
         authorEntity.setId(id);
 
-        return authorRepository.findById(id).map(existingAuthor -> {
-            Optional.ofNullable(authorEntity.getName()).ifPresent(existingAuthor::setName);
-            Optional.ofNullable(authorEntity.getAge()).ifPresent(existingAuthor::setAge);
-            return authorRepository.save(existingAuthor);
-        }).orElseThrow(()-> new RuntimeException("Author does not exist!"));
+        AuthorEntity updatedAuthor = authorRepository.findById(id)
+                .filter(existingAuthor -> !tombstones.isDeleted(existingAuthor))
+                .map(existingAuthor -> {
+                    Optional.ofNullable(authorEntity.getName()).ifPresent(existingAuthor::setName);
+                    Optional.ofNullable(authorEntity.getAge()).ifPresent(existingAuthor::setAge);
+                    return authorRepository.save(existingAuthor);
+                }).orElseThrow(()-> new RuntimeException("Author does not exist!"));
+        authorLookups.invalidate(id);
+        eventPublisher.publishEvent(new AuthorChangedEvent(id));
+        return updatedAuthor;
 
     }
 
     @Override
     public void delete(Long id) {
-        authorRepository.deleteById(id);
+        if (authorRepository.markDeleted(id, Instant.now()) > 0) {
+            tombstones.add(id);
+            authorLookups.invalidate(id);
+            eventPublisher.publishEvent(new AuthorDeletedEvent(id));
+            eventPublisher.publishEvent(new AuthorChangedEvent(id));
+        }
     }
 }
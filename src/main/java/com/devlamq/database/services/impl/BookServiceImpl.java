@@ -1,8 +1,17 @@
 package com.devlamq.database.services.impl;
 
+import com.devlamq.database.concurrent.SingleFlight;
 import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.domain.events.AuthorChangedEvent;
+import com.devlamq.database.domain.events.BookChangedEvent;
+import com.devlamq.database.membership.CatalogMembership;
+import com.devlamq.database.membership.MembershipIndex;
 import com.devlamq.database.repositories.BookRepository;
 import com.devlamq.database.services.BookService;
+import com.devlamq.database.services.cleanup.AuthorTombstones;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,14 +24,37 @@ public class BookServiceImpl implements BookService {
 
     private BookRepository bookRepository;
 
-    public BookServiceImpl(BookRepository bookRepository) {
+    private ApplicationEventPublisher eventPublisher;
+
+    private SingleFlight<String, Optional<BookEntity>> bookLookups;
+
+    private AuthorTombstones tombstones;
+
+    private MembershipIndex<String> isbns;
+
+    public BookServiceImpl(
+            BookRepository bookRepository,
+            ApplicationEventPublisher eventPublisher,
+            SingleFlight<String, Optional<BookEntity>> bookLookups,
+            AuthorTombstones tombstones,
+            CatalogMembership membership) {
         this.bookRepository = bookRepository;
+        this.eventPublisher = eventPublisher;
+        this.bookLookups = bookLookups;
+        this.tombstones = tombstones;
+        this.isbns = membership.getIsbns();
     }
 
     @Override
     public BookEntity createUpdateBook(String isbn, BookEntity book) {
         book.setIsbn(isbn);
-        return bookRepository.save(book);
+        Optional<BookEntity> previousBook = isbns.find(isbn, () -> bookRepository.findById(isbn));
+        boolean existedBefore = previousBook.isPresent();
+        Long previousAuthorId = previousBook.map(BookChangedEvent::authorIdOf).orElse(null);
+        BookEntity savedBook = bookRepository.save(book);
+        bookLookups.invalidate(isbn);
+        eventPublisher.publishEvent(BookChangedEvent.saved(isbn, existedBefore, previousAuthorId, savedBook));
+        return savedBook;
     }
 
     @Override
@@ -31,32 +63,62 @@ public class BookServiceImpl implements BookService {
                 .stream(
                         bookRepository.findAll().spliterator(),
                         false)
+                .filter(book -> !tombstones.isHidden(book))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BookEntity> findPage(String afterIsbn, int limit) {
+        return bookRepository.findByIsbnGreaterThanOrderByIsbn(
+                        afterIsbn == null ? "" : afterIsbn,
+                        Limit.of(limit))
+                .stream()
+                .filter(book -> !tombstones.isHidden(book))
                 .collect(Collectors.toList());
     }
 
     @Override
     public Optional<BookEntity> findOne(String isbn) {
-        return bookRepository.findById(isbn);
+        return isbns.find(isbn, () -> bookLookups.execute(isbn, () -> bookRepository.findById(isbn)))
+                .filter(book -> !tombstones.isHidden(book));
     }
 
     @Override
     public boolean isExists(String isbn) {
-        return bookRepository.existsById(isbn);
+        if (tombstones.isEmpty()) {
+            return isbns.exists(isbn, () -> bookRepository.existsById(isbn));
+        }
+        return isbns.find(isbn, () -> bookRepository.findById(isbn))
+                .filter(book -> !tombstones.isHidden(book))
+                .isPresent();
     }
 
     @Override
     public BookEntity partialUpdate(String isbn, BookEntity bookEntity) {
         bookEntity.setIsbn(isbn);
 
-        return bookRepository.findById(isbn).map(existingBook -> {
-            Optional.ofNullable(bookEntity.getTitle()).ifPresent(existingBook::setTitle);
-            return bookRepository.save(existingBook);
-
-        }).orElseThrow(()-> new RuntimeException("Book does not exist"));
+        BookEntity existingBook = bookRepository.findById(isbn)
+                .orElseThrow(()-> new RuntimeException("Book does not exist"));
+        Long previousAuthorId = BookChangedEvent.authorIdOf(existingBook);
+        Optional.ofNullable(bookEntity.getTitle()).ifPresent(existingBook::setTitle);
+        BookEntity updatedBook = bookRepository.save(existingBook);
+        bookLookups.invalidate(isbn);
+        eventPublisher.publishEvent(BookChangedEvent.saved(isbn, true, previousAuthorId, updatedBook));
+        return updatedBook;
     }
 
     @Override
     public void delete(String isbn) {
+        Optional<BookEntity> previousBook = bookRepository.findById(isbn);
+        boolean existedBefore = previousBook.isPresent();
+        Long previousAuthorId = previousBook.map(BookChangedEvent::authorIdOf).orElse(null);
         bookRepository.deleteById(isbn);
+        bookLookups.invalidate(isbn);
+        eventPublisher.publishEvent(BookChangedEvent.deleted(isbn, existedBefore, previousAuthorId));
+    }
+
+    @EventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        bookLookups.invalidateAll();
     }
 }
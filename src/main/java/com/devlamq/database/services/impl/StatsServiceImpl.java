@@ -0,0 +1,180 @@
+package com.devlamq.database.services.impl;
+
+import com.devlamq.database.domain.dto.AuthorStatsDto;
+import com.devlamq.database.domain.dto.CatalogStatsDto;
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.events.AuthorBooksDeletedEvent;
+import com.devlamq.database.domain.events.AuthorChangedEvent;
+import com.devlamq.database.domain.events.AuthorDeletedEvent;
+import com.devlamq.database.domain.events.BookChangedEvent;
+import com.devlamq.database.repositories.AuthorRepository;
+import com.devlamq.database.repositories.BookRepository;
+import com.devlamq.database.services.CatalogDerivedState;
+import com.devlamq.database.services.StatsService;
+import com.devlamq.database.services.cleanup.AuthorTombstones;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class StatsServiceImpl implements StatsService, CatalogDerivedState {
+
+    private static final Long NO_AUTHOR = -1L;
+
+    private final BookRepository bookRepository;
+
+    private final AuthorRepository authorRepository;
+
+    private final AuthorTombstones tombstones;
+
+    private final int topAuthorCount;
+
+    private final LongAdder totalBooks = new LongAdder();
+
+    private final ConcurrentHashMap<Long, Long> booksByAuthor = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean topAuthorsStale = new AtomicBoolean(true);
+
+    private volatile List<AuthorStatsDto> topAuthors = List.of();
+
+    private volatile Instant reconciledAt;
+
+    public StatsServiceImpl(
+            BookRepository bookRepository,
+            AuthorRepository authorRepository,
+            AuthorTombstones tombstones,
+            @Value("${books.stats.top-authors:10}") int topAuthorCount) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.tombstones = tombstones;
+        this.topAuthorCount = topAuthorCount;
+    }
+
+    @Override
+    public CatalogStatsDto catalogStats() {
+        return CatalogStatsDto.builder()
+                .totalBooks(totalBooks.sum())
+                .topAuthors(topAuthors)
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    @Override
+    public AuthorStatsDto authorStats(Long authorId) {
+        return AuthorStatsDto.builder()
+                .authorId(authorId)
+                .bookCount(Math.max(0, booksByAuthor.getOrDefault(authorId, 0L)))
+                .build();
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.isExistedBefore()) {
+            adjust(event.getPreviousAuthorId(), -1);
+        }
+        if (event.isExistsAfter()) {
+            adjust(event.getAuthorId(), 1);
+        }
+        if (event.isExistedBefore() != event.isExistsAfter()) {
+            totalBooks.add(event.isExistsAfter() ? 1 : -1);
+        }
+    }
+
+    @EventListener
+    public void onAuthorBooksDeleted(AuthorBooksDeletedEvent event) {
+        adjust(event.getAuthorId(), -event.getDeletedBooks());
+        totalBooks.add(-event.getDeletedBooks());
+    }
+
+    @EventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        topAuthorsStale.set(true);
+    }
+
+    @EventListener
+    public void onAuthorDeleted(AuthorDeletedEvent event) {
+        topAuthorsStale.set(true);
+    }
+
+    @PostConstruct
+    @Override
+    @Scheduled(
+            initialDelayString = "${books.stats.reconcile-interval:PT5M}",
+            fixedDelayString = "${books.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        Map<Long, Long> counted = new HashMap<>();
+        for (Object[] row : bookRepository.countBooksByAuthor()) {
+            counted.put(row[0] == null ? NO_AUTHOR : ((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+
+        long total = 0;
+        for (Map.Entry<Long, Long> entry : counted.entrySet()) {
+            booksByAuthor.put(entry.getKey(), entry.getValue());
+            total += entry.getValue();
+        }
+        booksByAuthor.keySet().removeIf(authorId -> !counted.containsKey(authorId));
+        totalBooks.add(total - totalBooks.sum());
+        reconciledAt = Instant.now();
+        topAuthorsStale.set(true);
+        refreshTopAuthors();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${books.stats.top-refresh-interval:PT1S}")
+    public void refreshTopAuthors() {
+        if (!topAuthorsStale.getAndSet(false)) {
+            return;
+        }
+
+        PriorityQueue<Map.Entry<Long, Long>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        booksByAuthor.forEach((authorId, count) -> {
+            if (!NO_AUTHOR.equals(authorId) && count > 0 && !tombstones.isDeleted(authorId)) {
+                top.add(Map.entry(authorId, count));
+                if (top.size() > topAuthorCount) {
+                    top.poll();
+                }
+            }
+        });
+
+        List<Map.Entry<Long, Long>> ranked = new ArrayList<>(top);
+        ranked.sort(Map.Entry.<Long, Long>comparingByValue().reversed());
+
+        Map<Long, String> names = new HashMap<>();
+        authorRepository.findAllById(ranked.stream().map(Map.Entry::getKey).toList())
+                .forEach(author -> names.put(author.getId(), author.getName()));
+
+        topAuthors = ranked.stream()
+                .map(entry -> AuthorStatsDto.builder()
+                        .authorId(entry.getKey())
+                        .name(names.get(entry.getKey()))
+                        .bookCount(entry.getValue())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public void reset() {
+        reconcile();
+    }
+
+    private void adjust(Long authorId, long delta) {
+        if (delta != 0) {
+            booksByAuthor.merge(authorId == null ? NO_AUTHOR : authorId, delta,
+                    (count, change) -> count + change == 0 ? null : count + change);
+        }
+        topAuthorsStale.set(true);
+    }
+}
@@ -0,0 +1,50 @@
+package com.devlamq.database.sharding;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Endpoint(id = "resharding")
+public class ReshardingEndpoint {
+
+    private final ShardRouter router;
+
+    private final ReshardingTool reshardingTool;
+
+    private final ShardedAuthorRepository authorRepository;
+
+    public ReshardingEndpoint(
+            ShardRouter router,
+            ReshardingTool reshardingTool,
+            ShardedAuthorRepository authorRepository) {
+        this.router = router;
+        this.reshardingTool = reshardingTool;
+        this.authorRepository = authorRepository;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("activeShards", router.currentShards().stream().map(Shard::getName).toList());
+        status.put("configuredShards", router.getConfiguredShards().stream().map(Shard::getName).toList());
+        status.put("migrating", router.isMigrating());
+        status.put("pendingAuthorReplications", authorRepository.getPendingReplicationCount());
+        ReshardingJob job = reshardingTool.getJob();
+        status.put("job", job == null ? null : job.toMap());
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> reshard(int activeShards) {
+        List<Shard> configuredShards = router.getConfiguredShards();
+        if (activeShards < 1 || activeShards > configuredShards.size()) {
+            throw new IllegalArgumentException("activeShards must be between 1 and " + configuredShards.size());
+        }
+        reshardingTool.start(configuredShards.subList(0, activeShards));
+        return status();
+    }
+}
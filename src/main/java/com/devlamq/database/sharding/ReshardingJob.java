@@ -0,0 +1,87 @@
+package com.devlamq.database.sharding;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ReshardingJob {
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final List<Shard> targetShards;
+
+    private final Instant startedAt = Instant.now();
+
+    private final AtomicLong scannedBooks = new AtomicLong();
+
+    private final AtomicLong movedBooks = new AtomicLong();
+
+    private volatile State state = State.RUNNING;
+
+    private volatile Shard draining;
+
+    private volatile Instant finishedAt;
+
+    private volatile String failure;
+
+    ReshardingJob(List<Shard> targetShards) {
+        this.targetShards = List.copyOf(targetShards);
+    }
+
+    public List<Shard> getTargetShards() {
+        return targetShards;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getMovedBooks() {
+        return movedBooks.get();
+    }
+
+    public long getScannedBooks() {
+        return scannedBooks.get();
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> job = new LinkedHashMap<>();
+        job.put("state", state);
+        job.put("targetShards", targetShards.stream().map(Shard::getName).toList());
+        job.put("drainingShard", draining == null ? null : draining.getName());
+        job.put("scannedBooks", scannedBooks.get());
+        job.put("movedBooks", movedBooks.get());
+        job.put("startedAt", startedAt);
+        job.put("finishedAt", finishedAt);
+        job.put("failure", failure);
+        return job;
+    }
+
+    void draining(Shard source) {
+        draining = source;
+    }
+
+    void scanned(int books) {
+        scannedBooks.addAndGet(books);
+    }
+
+    void moved() {
+        movedBooks.incrementAndGet();
+    }
+
+    void completed() {
+        draining = null;
+        finishedAt = Instant.now();
+        state = State.COMPLETED;
+    }
+
+    void failed(RuntimeException e) {
+        finishedAt = Instant.now();
+        failure = e.getMessage();
+        state = State.FAILED;
+    }
+}
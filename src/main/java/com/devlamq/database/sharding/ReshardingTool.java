@@ -0,0 +1,119 @@
+package com.devlamq.database.sharding;
+
+import com.devlamq.database.domain.entities.BookEntity;
+import lombok.extern.java.Log;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+
+@Log
+public class ReshardingTool {
+
+    private final ShardRouter router;
+
+    private final ShardedBookRepository bookRepository;
+
+    private final ShardedAuthorRepository authorRepository;
+
+    private final int batchSize;
+
+    private final Executor executor;
+
+    private volatile ReshardingJob job;
+
+    public ReshardingTool(
+            ShardRouter router,
+            ShardedBookRepository bookRepository,
+            ShardedAuthorRepository authorRepository,
+            int batchSize,
+            Executor executor) {
+        this.router = router;
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.batchSize = batchSize;
+        this.executor = executor;
+    }
+
+    public ReshardingJob getJob() {
+        return job;
+    }
+
+    public synchronized ReshardingJob start(List<Shard> targetShards) {
+        if (job != null && job.getState() == ReshardingJob.State.RUNNING) {
+            throw new IllegalStateException("A resharding is already in progress");
+        }
+        ReshardingJob started = new ReshardingJob(targetShards);
+        job = started;
+        executor.execute(() -> {
+            try {
+                run(started);
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Resharding to " + targetShards + " failed", e);
+            }
+        });
+        return started;
+    }
+
+    public long reshard(List<Shard> targetShards) {
+        return run(new ReshardingJob(targetShards)).getMovedBooks();
+    }
+
+    private ReshardingJob run(ReshardingJob job) {
+        try {
+            authorRepository.replicatePending();
+            if (authorRepository.getPendingReplicationCount() > 0) {
+                throw new IllegalStateException("Authors are still waiting to be replicated, retry the resharding later");
+            }
+            for (Shard shard : job.getTargetShards()) {
+                if (!router.currentShards().contains(shard)) {
+                    authorRepository.replicateAll(shard);
+                }
+            }
+
+            HashRing previous = router.beginMigration(job.getTargetShards());
+            try {
+                for (Shard source : previous.getShards()) {
+                    drain(source, job);
+                }
+            } finally {
+                router.completeMigration();
+            }
+        } catch (RuntimeException e) {
+            job.failed(e);
+            throw e;
+        }
+        job.completed();
+        log.info("Resharding to " + job.getTargetShards() + " moved " + job.getMovedBooks() + " books");
+        return job;
+    }
+
+    private void drain(Shard source, ReshardingJob job) {
+        job.draining(source);
+        String after = "";
+        while (true) {
+            List<BookEntity> batch = bookRepository.findPageOn(source, after, batchSize);
+            if (batch.isEmpty()) {
+                return;
+            }
+            for (BookEntity book : batch) {
+                Shard target = router.shardFor(book.getIsbn());
+                if (target != source && move(source, target, book.getIsbn())) {
+                    job.moved();
+                }
+            }
+            job.scanned(batch.size());
+            after = batch.get(batch.size() - 1).getIsbn();
+        }
+    }
+
+    private boolean move(Shard source, Shard target, String isbn) {
+        return source.inTransaction(() -> bookRepository.lockOn(source, isbn)
+                .map(book -> {
+                    bookRepository.insertIfAbsent(target, book);
+                    source.getJdbcTemplate().update("DELETE FROM books WHERE isbn = ?", isbn);
+                    return true;
+                })
+                .orElse(false));
+    }
+}
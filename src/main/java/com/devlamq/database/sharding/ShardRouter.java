@@ -0,0 +1,77 @@
+package com.devlamq.database.sharding;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class ShardRouter implements AutoCloseable {
+
+    private final List<Shard> configuredShards;
+
+    private final int virtualNodes;
+
+    private volatile HashRing current;
+
+    private volatile HashRing previous;
+
+    public ShardRouter(List<Shard> configuredShards, int activeShards, int virtualNodes) {
+        this.configuredShards = List.copyOf(configuredShards);
+        this.virtualNodes = virtualNodes;
+        this.current = new HashRing(configuredShards.subList(0, activeShards), virtualNodes);
+    }
+
+    public Shard shardFor(String isbn) {
+        return current.shardFor(isbn);
+    }
+
+    public Shard previousShardFor(String isbn) {
+        HashRing migrating = previous;
+        if (migrating == null) {
+            return null;
+        }
+        Shard shard = migrating.shardFor(isbn);
+        return shard == current.shardFor(isbn) ? null : shard;
+    }
+
+    public List<Shard> activeShards() {
+        HashRing migrating = previous;
+        if (migrating == null) {
+            return current.getShards();
+        }
+        Set<Shard> shards = new LinkedHashSet<>(current.getShards());
+        shards.addAll(migrating.getShards());
+        return List.copyOf(shards);
+    }
+
+    public List<Shard> currentShards() {
+        return current.getShards();
+    }
+
+    public List<Shard> getConfiguredShards() {
+        return configuredShards;
+    }
+
+    public boolean isMigrating() {
+        return previous != null;
+    }
+
+    synchronized HashRing beginMigration(List<Shard> shards) {
+        if (previous != null) {
+            throw new IllegalStateException("A resharding is already in progress");
+        }
+        previous = current;
+        current = new HashRing(shards, virtualNodes);
+        return previous;
+    }
+
+    synchronized void completeMigration() {
+        previous = null;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Shard shard : configuredShards) {
+            shard.close();
+        }
+    }
+}
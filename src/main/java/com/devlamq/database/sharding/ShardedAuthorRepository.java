@@ -0,0 +1,261 @@
+package com.devlamq.database.sharding;
+
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.repositories.AuthorRepository;
+import lombok.extern.java.Log;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+
+@Log
+public class ShardedAuthorRepository implements AuthorRepository {
+
+    static final RowMapper<AuthorEntity> AUTHOR_ROW_MAPPER = (resultSet, rowNum) -> AuthorEntity.builder()
+            .id(resultSet.getLong("id"))
+            .name(resultSet.getString("name"))
+            .age(resultSet.getObject("age", Integer.class))
+            .build();
+
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private final List<Shard> shards;
+
+    private final ReentrantLock idLock = new ReentrantLock();
+
+    private final Map<Shard, Set<Long>> pendingReplication = new ConcurrentHashMap<>();
+
+    private long nextId;
+
+    private long maxId = -1;
+
+    public ShardedAuthorRepository(List<Shard> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    @Override
+    public <S extends AuthorEntity> S save(S entity) {
+        if (entity.getId() == null || !existsById(entity.getId())) {
+            entity.setId(nextId());
+        }
+        replicate(home(), entity);
+        for (Shard shard : replicas()) {
+            replicateOrDefer(shard, entity.getId(), () -> replicate(shard, entity));
+        }
+        return entity;
+    }
+
+    public <S extends AuthorEntity> S saveIfChanged(S entity) {
+        Optional<AuthorEntity> stored = entity.getId() == null ? Optional.empty() : findById(entity.getId());
+        if (stored.isPresent()
+                && Objects.equals(stored.get().getName(), entity.getName())
+                && Objects.equals(stored.get().getAge(), entity.getAge())) {
+            return entity;
+        }
+        return save(entity);
+    }
+
+    @Override
+    public <S extends AuthorEntity> Iterable<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public Optional<AuthorEntity> findById(Long id) {
+        return home().getJdbcTemplate()
+                .query("SELECT id, name, age FROM authors WHERE id = ?", AUTHOR_ROW_MAPPER, id)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public Iterable<AuthorEntity> findAll() {
+        return home().getJdbcTemplate().query("SELECT id, name, age FROM authors ORDER BY id", AUTHOR_ROW_MAPPER);
+    }
+
+    @Override
+    public Iterable<AuthorEntity> findAllById(Iterable<Long> ids) {
+        List<AuthorEntity> authors = new ArrayList<>();
+        ids.forEach(id -> findById(id).ifPresent(authors::add));
+        return authors;
+    }
+
+    @Override
+    public long count() {
+        return home().getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM authors", Long.class);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        for (Shard shard : shards) {
+            Integer books = shard.getJdbcTemplate().queryForObject(
+                    "SELECT COUNT(*) FROM books WHERE author_id = ?", Integer.class, id);
+            if (books != null && books > 0) {
+                throw new DataIntegrityViolationException(
+                        "Author " + id + " is still referenced by books on shard " + shard.getName());
+            }
+        }
+        home().getJdbcTemplate().update("DELETE FROM authors WHERE id = ?", id);
+        for (Shard shard : replicas()) {
+            replicateOrDefer(shard, id, () -> shard.getJdbcTemplate().update("DELETE FROM authors WHERE id = ?", id));
+        }
+    }
+
+    @Override
+    public void delete(AuthorEntity entity) {
+        deleteById(entity.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends AuthorEntity> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        findAll().forEach(this::delete);
+    }
+
+    @Override
+    public int markDeleted(Long id, Instant deletedAt) {
+        String sql = "UPDATE authors SET deleted_at = ? WHERE id = ? AND deleted_at IS NULL";
+        int marked = home().getJdbcTemplate().update(sql, Timestamp.from(deletedAt), id);
+        for (Shard shard : replicas()) {
+            replicateOrDefer(shard, id, () -> shard.getJdbcTemplate().update(sql, Timestamp.from(deletedAt), id));
+        }
+        return marked;
+    }
+
+    @Override
+    public List<Long> findDeletedIds() {
+        return home().getJdbcTemplate().queryForList(
+                "SELECT id FROM authors WHERE deleted_at IS NOT NULL", Long.class);
+    }
+
+    @Override
+    public List<Long> findDeletedIdsBefore(Instant cutoff) {
+        return home().getJdbcTemplate().queryForList(
+                "SELECT id FROM authors WHERE deleted_at < ?", Long.class, Timestamp.from(cutoff));
+    }
+
+    @Override
+    public List<Long> findIdsAfter(Long afterId, Limit limit) {
+        return home().getJdbcTemplate().queryForList(
+                "SELECT id FROM authors WHERE id > ? ORDER BY id" + (limit.isLimited() ? " LIMIT " + limit.max() : ""),
+                Long.class, afterId);
+    }
+
+    void replicate(Shard shard, AuthorEntity author) {
+        int updated = shard.getJdbcTemplate().update(
+                "UPDATE authors SET name = ?, age = ? WHERE id = ?",
+                author.getName(), author.getAge(), author.getId());
+        if (updated == 0) {
+            try {
+                shard.getJdbcTemplate().update(
+                        "INSERT INTO authors (id, name, age) VALUES (?, ?, ?)",
+                        author.getId(), author.getName(), author.getAge());
+            } catch (DuplicateKeyException e) {
+                replicate(shard, author);
+            }
+        }
+    }
+
+    void replicateAll(Shard target) {
+        findAll().forEach(author -> replicate(target, author));
+    }
+
+    @Scheduled(fixedDelayString = "${books.sharding.replication-retry-interval:PT5S}")
+    public void replicatePending() {
+        pendingReplication.forEach((shard, ids) -> ids.removeIf(id -> {
+            try {
+                copyFromHome(shard, id);
+                return true;
+            } catch (DataAccessException e) {
+                log.log(Level.FINE, "Author " + id + " is still not replicated to shard " + shard.getName(), e);
+                return false;
+            }
+        }));
+    }
+
+    public int getPendingReplicationCount() {
+        return pendingReplication.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void replicateOrDefer(Shard shard, Long id, Runnable replication) {
+        try {
+            replication.run();
+        } catch (DataAccessException e) {
+            pendingReplication.computeIfAbsent(shard, missing -> ConcurrentHashMap.newKeySet()).add(id);
+            log.log(Level.WARNING, "Could not replicate author " + id + " to shard " + shard.getName()
+                    + ", retrying in the background", e);
+        }
+    }
+
+    private void copyFromHome(Shard shard, Long id) {
+        Optional<AuthorEntity> author = home().getJdbcTemplate()
+                .query("SELECT id, name, age, deleted_at FROM authors WHERE id = ?", (resultSet, rowNum) -> {
+                    AuthorEntity stored = AUTHOR_ROW_MAPPER.mapRow(resultSet, rowNum);
+                    Timestamp deletedAt = resultSet.getTimestamp("deleted_at");
+                    stored.setDeletedAt(deletedAt == null ? null : deletedAt.toInstant());
+                    return stored;
+                }, id)
+                .stream()
+                .findFirst();
+        if (author.isEmpty()) {
+            shard.getJdbcTemplate().update("DELETE FROM authors WHERE id = ?", id);
+            return;
+        }
+        replicate(shard, author.get());
+        Instant deletedAt = author.get().getDeletedAt();
+        shard.getJdbcTemplate().update(
+                "UPDATE authors SET deleted_at = ? WHERE id = ?", deletedAt == null ? null : Timestamp.from(deletedAt), id);
+    }
+
+    private long nextId() {
+        idLock.lock();
+        try {
+            if (nextId > maxId) {
+                long high = home().getJdbcTemplate().queryForObject(home().nextAuthorIdQuery(), Long.class);
+                nextId = Math.max(1, high - ID_ALLOCATION_SIZE + 1);
+                maxId = high;
+            }
+            return nextId++;
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    private Shard home() {
+        return shards.get(0);
+    }
+
+    private List<Shard> replicas() {
+        return shards.subList(1, shards.size());
+    }
+}
@@ -0,0 +1,288 @@
+package com.devlamq.database.sharding;
+
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.repositories.BookRepository;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+public class ShardedBookRepository implements BookRepository {
+
+    private static final String SELECT_BOOKS = "SELECT b.isbn, b.title, a.id, a.name, a.age "
+            + "FROM books b LEFT JOIN authors a ON a.id = b.author_id ";
+
+    private static final RowMapper<BookEntity> BOOK_ROW_MAPPER = (resultSet, rowNum) -> {
+        long authorId = resultSet.getLong(3);
+        AuthorEntity author = resultSet.wasNull() ? null : AuthorEntity.builder()
+                .id(authorId)
+                .name(resultSet.getString(4))
+                .age(resultSet.getObject(5, Integer.class))
+                .build();
+        return BookEntity.builder()
+                .isbn(resultSet.getString(1))
+                .title(resultSet.getString(2))
+                .authorEntity(author)
+                .build();
+    };
+
+    private static final RowMapper<String> ISBN_ROW_MAPPER = (resultSet, rowNum) -> resultSet.getString(1);
+
+    private final ShardRouter router;
+
+    private final ShardedAuthorRepository authorRepository;
+
+    private final Executor executor;
+
+    public ShardedBookRepository(ShardRouter router, ShardedAuthorRepository authorRepository, Executor executor) {
+        this.router = router;
+        this.authorRepository = authorRepository;
+        this.executor = executor;
+    }
+
+    @Override
+    public <S extends BookEntity> S save(S entity) {
+        if (entity.getAuthorEntity() != null) {
+            entity.setAuthorEntity(authorRepository.saveIfChanged(entity.getAuthorEntity()));
+        }
+        Shard shard = router.shardFor(entity.getIsbn());
+        upsert(shard, entity);
+
+        Shard previous = router.previousShardFor(entity.getIsbn());
+        if (previous != null) {
+            previous.getJdbcTemplate().update("DELETE FROM books WHERE isbn = ?", entity.getIsbn());
+        }
+        return entity;
+    }
+
+    @Override
+    public <S extends BookEntity> Iterable<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public Optional<BookEntity> findById(String isbn) {
+        Optional<BookEntity> book = findOn(router.shardFor(isbn), isbn);
+        if (book.isPresent()) {
+            return book;
+        }
+        Shard previous = router.previousShardFor(isbn);
+        return previous == null ? Optional.empty() : findOn(previous, isbn);
+    }
+
+    @Override
+    public boolean existsById(String isbn) {
+        return findById(isbn).isPresent();
+    }
+
+    @Override
+    public Iterable<BookEntity> findAll() {
+        return mergeSorted(scatter(SELECT_BOOKS + "ORDER BY b.isbn", BOOK_ROW_MAPPER), BookEntity::getIsbn, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<BookEntity> findByIsbnGreaterThanOrderByIsbn(String isbn, Limit limit) {
+        int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        String sql = SELECT_BOOKS + "WHERE b.isbn > ? ORDER BY b.isbn"
+                + (limit.isLimited() ? " LIMIT " + max : "");
+        return mergeSorted(scatter(sql, BOOK_ROW_MAPPER, isbn), BookEntity::getIsbn, max);
+    }
+
+    @Override
+    public List<String> findIsbnsAfter(String afterIsbn, Limit limit) {
+        int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        String sql = "SELECT isbn FROM books WHERE isbn > ? ORDER BY isbn"
+                + (limit.isLimited() ? " LIMIT " + max : "");
+        return mergeSorted(scatter(sql, ISBN_ROW_MAPPER, afterIsbn), Function.identity(), max);
+    }
+
+    @Override
+    public Iterable<BookEntity> findAllById(Iterable<String> isbns) {
+        List<BookEntity> books = new ArrayList<>();
+        isbns.forEach(isbn -> findById(isbn).ifPresent(books::add));
+        return books;
+    }
+
+    @Override
+    public long count() {
+        return scatterCount().stream().mapToLong(CompletableFuture::join).sum();
+    }
+
+    @Override
+    public void deleteById(String isbn) {
+        Shard previous = router.previousShardFor(isbn);
+        if (previous != null) {
+            previous.getJdbcTemplate().update("DELETE FROM books WHERE isbn = ?", isbn);
+        }
+        router.shardFor(isbn).getJdbcTemplate().update("DELETE FROM books WHERE isbn = ?", isbn);
+    }
+
+    @Override
+    public void delete(BookEntity entity) {
+        deleteById(entity.getIsbn());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> isbns) {
+        isbns.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends BookEntity> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        for (Shard shard : router.activeShards()) {
+            shard.getJdbcTemplate().update("DELETE FROM books");
+        }
+    }
+
+    @Override
+    public int deleteBatchByAuthorId(Long authorId, int batchSize) {
+        for (Shard shard : router.activeShards()) {
+            int deleted = shard.getJdbcTemplate().update(
+                    "DELETE FROM books WHERE isbn IN (SELECT isbn FROM books WHERE author_id = ? LIMIT " + batchSize + ")",
+                    authorId);
+            if (deleted > 0) {
+                return deleted;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public List<Object[]> countBooksByAuthor() {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Shard shard : router.activeShards()) {
+            shard.getJdbcTemplate().query("SELECT author_id, COUNT(*) FROM books GROUP BY author_id", resultSet -> {
+                long authorId = resultSet.getLong(1);
+                counts.merge(resultSet.wasNull() ? null : authorId, resultSet.getLong(2), Long::sum);
+            });
+        }
+        List<Object[]> rows = new ArrayList<>();
+        counts.forEach((authorId, count) -> rows.add(new Object[]{authorId, count}));
+        return rows;
+    }
+
+    boolean insertIfAbsent(Shard shard, BookEntity book) {
+        try {
+            shard.getJdbcTemplate().update(
+                    "INSERT INTO books (isbn, title, author_id) VALUES (?, ?, ?)",
+                    book.getIsbn(), book.getTitle(), authorId(book));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    Optional<BookEntity> lockOn(Shard shard, String isbn) {
+        return shard.getJdbcTemplate().query(
+                "SELECT isbn, title, author_id FROM books WHERE isbn = ? FOR UPDATE",
+                (resultSet, rowNum) -> {
+                    long authorId = resultSet.getLong(3);
+                    return BookEntity.builder()
+                            .isbn(resultSet.getString(1))
+                            .title(resultSet.getString(2))
+                            .authorEntity(resultSet.wasNull() ? null : AuthorEntity.builder().id(authorId).build())
+                            .build();
+                },
+                isbn).stream().findFirst();
+    }
+
+    List<BookEntity> findPageOn(Shard shard, String afterIsbn, int limit) {
+        return shard.getJdbcTemplate().query(
+                SELECT_BOOKS + "WHERE b.isbn > ? ORDER BY b.isbn LIMIT " + limit, BOOK_ROW_MAPPER, afterIsbn);
+    }
+
+    private void upsert(Shard shard, BookEntity book) {
+        int updated = shard.getJdbcTemplate().update(
+                "UPDATE books SET title = ?, author_id = ? WHERE isbn = ?",
+                book.getTitle(), authorId(book), book.getIsbn());
+        if (updated == 0 && !insertIfAbsent(shard, book)) {
+            upsert(shard, book);
+        }
+    }
+
+    private Optional<BookEntity> findOn(Shard shard, String isbn) {
+        return shard.getJdbcTemplate()
+                .query(SELECT_BOOKS + "WHERE b.isbn = ?", BOOK_ROW_MAPPER, isbn)
+                .stream()
+                .findFirst();
+    }
+
+    private <T> List<CompletableFuture<List<T>>> scatter(String sql, RowMapper<T> rowMapper, Object... args) {
+        List<CompletableFuture<List<T>>> results = new ArrayList<>();
+        for (Shard shard : router.activeShards()) {
+            results.add(CompletableFuture.supplyAsync(
+                    () -> shard.getJdbcTemplate().query(sql, rowMapper, args), executor));
+        }
+        return results;
+    }
+
+    private List<CompletableFuture<Long>> scatterCount() {
+        List<CompletableFuture<Long>> results = new ArrayList<>();
+        for (Shard shard : router.activeShards()) {
+            results.add(CompletableFuture.supplyAsync(
+                    () -> shard.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM books", Long.class), executor));
+        }
+        return results;
+    }
+
+    private <T> List<T> mergeSorted(List<CompletableFuture<List<T>>> shardResults, Function<T, String> isbnOf, int limit) {
+        PriorityQueue<Cursor<T>> cursors = new PriorityQueue<>(Comparator.comparing(cursor -> isbnOf.apply(cursor.head)));
+        for (CompletableFuture<List<T>> result : shardResults) {
+            Iterator<T> rows = result.join().iterator();
+            if (rows.hasNext()) {
+                cursors.add(new Cursor<>(rows.next(), rows));
+            }
+        }
+
+        List<T> merged = new ArrayList<>();
+        String last = null;
+        while (!cursors.isEmpty() && merged.size() < limit) {
+            Cursor<T> cursor = cursors.poll();
+            String isbn = isbnOf.apply(cursor.head);
+            if (!isbn.equals(last)) {
+                merged.add(cursor.head);
+                last = isbn;
+            }
+            if (cursor.rest.hasNext()) {
+                cursor.head = cursor.rest.next();
+                cursors.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static Long authorId(BookEntity book) {
+        return book.getAuthorEntity() == null ? null : book.getAuthorEntity().getId();
+    }
+
+    private static final class Cursor<T> {
+
+        private T head;
+
+        private final Iterator<T> rest;
+
+        private Cursor(T head, Iterator<T> rest) {
+            this.head = head;
+            this.rest = rest;
+        }
+    }
+}
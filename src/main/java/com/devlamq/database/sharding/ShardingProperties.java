@@ -0,0 +1,34 @@
+package com.devlamq.database.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "books.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    private int activeShards;
+
+    private int virtualNodes = 128;
+
+    private int reshardBatchSize = 1000;
+
+    private List<ShardDataSource> shards = new ArrayList<>();
+
+    @Data
+    public static class ShardDataSource {
+
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+    }
+}
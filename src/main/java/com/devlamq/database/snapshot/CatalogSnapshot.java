@@ -0,0 +1,158 @@
+package com.devlamq.database.snapshot;
+
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Optional;
+
+public final class CatalogSnapshot {
+
+    static final int MAGIC = 0x424F4F4B;
+
+    static final int HEADER_BYTES = 16;
+
+    static final int AUTHOR_BYTES = 20;
+
+    static final int BOOK_BYTES = 20;
+
+    static final int NO_AGE = Integer.MIN_VALUE;
+
+    static final int NO_AUTHOR = -1;
+
+    static final int NULL_STRING = -1;
+
+    private final Path file;
+
+    private final ByteBuffer buffer;
+
+    private final long sequence;
+
+    private final int authorCount;
+
+    private final int bookCount;
+
+    private final int booksOffset;
+
+    CatalogSnapshot(Path file, ByteBuffer buffer, long sequence) {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a catalog snapshot: " + file);
+        }
+        this.file = file;
+        this.buffer = buffer;
+        this.sequence = sequence;
+        this.authorCount = buffer.getInt(8);
+        this.bookCount = buffer.getInt(12);
+        this.booksOffset = HEADER_BYTES + authorCount * AUTHOR_BYTES;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getBookCount() {
+        return bookCount;
+    }
+
+    public int getAuthorCount() {
+        return authorCount;
+    }
+
+    public long getSizeInBytes() {
+        return buffer.capacity();
+    }
+
+    public Optional<BookEntity> find(String isbn) {
+        int index = indexOf(isbn);
+        return index < 0 ? Optional.empty() : Optional.of(bookAt(index));
+    }
+
+    public boolean contains(String isbn) {
+        return indexOf(isbn) >= 0;
+    }
+
+    public String isbnAt(int index) {
+        int record = booksOffset + index * BOOK_BYTES;
+        return string(buffer.getInt(record), buffer.getInt(record + 4));
+    }
+
+    public long authorIdOf(int index) {
+        int authorIndex = buffer.getInt(booksOffset + index * BOOK_BYTES + 16);
+        return authorIndex == NO_AUTHOR ? -1 : buffer.getLong(HEADER_BYTES + authorIndex * AUTHOR_BYTES);
+    }
+
+    public BookEntity bookAt(int index) {
+        int record = booksOffset + index * BOOK_BYTES;
+        int authorIndex = buffer.getInt(record + 16);
+        return BookEntity.builder()
+                .isbn(string(buffer.getInt(record), buffer.getInt(record + 4)))
+                .title(string(buffer.getInt(record + 8), buffer.getInt(record + 12)))
+                .authorEntity(authorIndex == NO_AUTHOR ? null : authorAt(authorIndex))
+                .build();
+    }
+
+    private AuthorEntity authorAt(int authorIndex) {
+        int record = HEADER_BYTES + authorIndex * AUTHOR_BYTES;
+        int age = buffer.getInt(record + 8);
+        return AuthorEntity.builder()
+                .id(buffer.getLong(record))
+                .age(age == NO_AGE ? null : age)
+                .name(string(buffer.getInt(record + 12), buffer.getInt(record + 16)))
+                .build();
+    }
+
+    public int indexAfter(String isbn) {
+        int index = search(isbn);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private int indexOf(String isbn) {
+        int index = search(isbn);
+        return index >= 0 ? index : -1;
+    }
+
+    private int search(String isbn) {
+        byte[] key = isbn.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = bookCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int record = booksOffset + mid * BOOK_BYTES;
+            int comparison = compare(buffer.getInt(record), buffer.getInt(record + 4), key);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int compare(int offset, int length, byte[] key) {
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int difference = Byte.toUnsignedInt(buffer.get(offset + i)) - Byte.toUnsignedInt(key[i]);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - key.length;
+    }
+
+    private String string(int offset, int length) {
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
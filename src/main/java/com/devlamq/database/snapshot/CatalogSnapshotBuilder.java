@@ -0,0 +1,130 @@
+package com.devlamq.database.snapshot;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CatalogSnapshotBuilder {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Path directory;
+
+    public CatalogSnapshotBuilder(JdbcTemplate jdbcTemplate, Path directory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.directory = directory;
+    }
+
+    public CatalogSnapshot build(long sequence) throws IOException {
+        List<AuthorRow> authors = new ArrayList<>();
+        Map<Long, Integer> authorIndexes = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name, age FROM authors ORDER BY id", resultSet -> {
+            long id = resultSet.getLong(1);
+            int age = resultSet.getInt(3);
+            if (resultSet.wasNull()) {
+                age = CatalogSnapshot.NO_AGE;
+            }
+            authorIndexes.put(id, authors.size());
+            authors.add(new AuthorRow(id, utf8(resultSet.getString(2)), age));
+        });
+
+        List<BookRow> books = new ArrayList<>();
+        jdbcTemplate.query("SELECT isbn, title, author_id FROM books", resultSet -> {
+            long authorId = resultSet.getLong(3);
+            int authorIndex = resultSet.wasNull()
+                    ? CatalogSnapshot.NO_AUTHOR
+                    : authorIndexes.getOrDefault(authorId, CatalogSnapshot.NO_AUTHOR);
+            books.add(new BookRow(utf8(resultSet.getString(1)), utf8(resultSet.getString(2)), authorIndex));
+        });
+        books.sort((left, right) -> Arrays.compareUnsigned(left.isbn, right.isbn));
+
+        long size = CatalogSnapshot.HEADER_BYTES
+                + (long) authors.size() * CatalogSnapshot.AUTHOR_BYTES
+                + (long) books.size() * CatalogSnapshot.BOOK_BYTES;
+        for (AuthorRow author : authors) {
+            size += length(author.name);
+        }
+        for (BookRow book : books) {
+            size += length(book.isbn) + length(book.title);
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Catalog snapshot exceeds 2 GiB: " + size + " bytes");
+        }
+
+        Files.createDirectories(directory);
+        Path file = Files.createTempFile(directory, "catalog-", ".snapshot");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            write(buffer, authors, books);
+            buffer.force();
+            return new CatalogSnapshot(file, buffer.asReadOnlyBuffer(), sequence);
+        }
+    }
+
+    private void write(ByteBuffer buffer, List<AuthorRow> authors, List<BookRow> books) {
+        buffer.putInt(0, CatalogSnapshot.MAGIC);
+        buffer.putInt(4, 1);
+        buffer.putInt(8, authors.size());
+        buffer.putInt(12, books.size());
+
+        int record = CatalogSnapshot.HEADER_BYTES;
+        int arena = CatalogSnapshot.HEADER_BYTES
+                + authors.size() * CatalogSnapshot.AUTHOR_BYTES
+                + books.size() * CatalogSnapshot.BOOK_BYTES;
+
+        for (AuthorRow author : authors) {
+            buffer.putLong(record, author.id);
+            buffer.putInt(record + 8, author.age);
+            arena = putString(buffer, record + 12, arena, author.name);
+            record += CatalogSnapshot.AUTHOR_BYTES;
+        }
+        for (BookRow book : books) {
+            arena = putString(buffer, record, arena, book.isbn);
+            arena = putString(buffer, record + 8, arena, book.title);
+            buffer.putInt(record + 16, book.authorIndex);
+            record += CatalogSnapshot.BOOK_BYTES;
+        }
+    }
+
+    private int putString(ByteBuffer buffer, int record, int arena, byte[] value) {
+        buffer.putInt(record, arena);
+        if (value == null) {
+            buffer.putInt(record + 4, CatalogSnapshot.NULL_STRING);
+            return arena;
+        }
+        buffer.putInt(record + 4, value.length);
+        buffer.put(arena, value);
+        return arena + value.length;
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.isEmpty() ? EMPTY : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private record AuthorRow(long id, byte[] name, int age) {
+    }
+
+    private record BookRow(byte[] isbn, byte[] title, int authorIndex) {
+    }
+}
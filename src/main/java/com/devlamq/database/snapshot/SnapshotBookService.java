@@ -0,0 +1,228 @@
+package com.devlamq.database.snapshot;
+
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.domain.events.AuthorChangedEvent;
+import com.devlamq.database.domain.events.BookChangedEvent;
+import com.devlamq.database.repositories.AuthorRepository;
+import com.devlamq.database.services.BookService;
+import com.devlamq.database.services.CatalogDerivedState;
+import com.devlamq.database.services.cleanup.AuthorTombstones;
+import lombok.extern.java.Log;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+@Log
+public class SnapshotBookService implements BookService, CatalogDerivedState {
+
+    private static final Comparator<String> ISBN_ORDER = Comparator.comparing(
+            isbn -> isbn.getBytes(StandardCharsets.UTF_8), Arrays::compareUnsigned);
+
+    private final BookService delegate;
+
+    private final AuthorRepository authorRepository;
+
+    private final CatalogSnapshotBuilder snapshotBuilder;
+
+    private final AuthorTombstones tombstones;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ConcurrentHashMap<String, Long> dirtyBooks = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Long, Long> dirtyAuthors = new ConcurrentHashMap<>();
+
+    private volatile CatalogSnapshot snapshot;
+
+    public SnapshotBookService(
+            BookService delegate,
+            AuthorRepository authorRepository,
+            CatalogSnapshotBuilder snapshotBuilder,
+            AuthorTombstones tombstones) {
+        this.delegate = delegate;
+        this.authorRepository = authorRepository;
+        this.snapshotBuilder = snapshotBuilder;
+        this.tombstones = tombstones;
+    }
+
+    @Override
+    public BookEntity createUpdateBook(String isbn, BookEntity book) {
+        return delegate.createUpdateBook(isbn, book);
+    }
+
+    @Override
+    public List<BookEntity> findAll() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return delegate.findAll();
+        }
+
+        Map<Long, Optional<AuthorEntity>> changedAuthors = new HashMap<>();
+        List<BookEntity> books = new ArrayList<>(current.getBookCount() + dirtyBooks.size());
+        boolean hasChangedBooks = !dirtyBooks.isEmpty();
+        for (int index = 0; index < current.getBookCount(); index++) {
+            if (!hasChangedBooks || !dirtyBooks.containsKey(current.isbnAt(index))) {
+                addVisible(books, current, index, changedAuthors);
+            }
+        }
+        for (String isbn : dirtyBooks.keySet()) {
+            delegate.findOne(isbn).ifPresent(books::add);
+        }
+        return books;
+    }
+
+    @Override
+    public List<BookEntity> findPage(String afterIsbn, int limit) {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return delegate.findPage(afterIsbn, limit);
+        }
+
+        String after = afterIsbn == null ? "" : afterIsbn;
+        TreeMap<String, BookEntity> changed = new TreeMap<>(ISBN_ORDER);
+        for (String isbn : dirtyBooks.keySet()) {
+            if (ISBN_ORDER.compare(isbn, after) > 0) {
+                delegate.findOne(isbn).ifPresent(book -> changed.put(isbn, book));
+            }
+        }
+
+        Map<Long, Optional<AuthorEntity>> changedAuthors = new HashMap<>();
+        List<BookEntity> page = new ArrayList<>(limit);
+        int index = current.indexAfter(after);
+        while (page.size() < limit && (index < current.getBookCount() || !changed.isEmpty())) {
+            String snapshotIsbn = index < current.getBookCount() ? current.isbnAt(index) : null;
+            if (!changed.isEmpty() && (snapshotIsbn == null || ISBN_ORDER.compare(changed.firstKey(), snapshotIsbn) <= 0)) {
+                page.add(changed.pollFirstEntry().getValue());
+            } else {
+                if (!dirtyBooks.containsKey(snapshotIsbn)) {
+                    addVisible(page, current, index, changedAuthors);
+                }
+                index++;
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public Optional<BookEntity> findOne(String isbn) {
+        CatalogSnapshot current = snapshot;
+        if (current == null || dirtyBooks.containsKey(isbn)) {
+            return delegate.findOne(isbn);
+        }
+        return current.find(isbn)
+                .map(book -> withCurrentAuthor(book, authorIdOf(book), new HashMap<>()))
+                .filter(book -> !tombstones.isHidden(book));
+    }
+
+    @Override
+    public boolean isExists(String isbn) {
+        CatalogSnapshot current = snapshot;
+        if (current == null || dirtyBooks.containsKey(isbn)) {
+            return delegate.isExists(isbn);
+        }
+        return findOne(isbn).isPresent();
+    }
+
+    @Override
+    public BookEntity partialUpdate(String isbn, BookEntity bookEntity) {
+        return delegate.partialUpdate(isbn, bookEntity);
+    }
+
+    @Override
+    public void delete(String isbn) {
+        delegate.delete(isbn);
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        dirtyBooks.put(event.getIsbn(), sequence.incrementAndGet());
+    }
+
+    @EventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        dirtyAuthors.put(event.getId(), sequence.incrementAndGet());
+    }
+
+    @Scheduled(
+            initialDelayString = "${books.snapshot.initial-delay:PT0S}",
+            fixedDelayString = "${books.snapshot.refresh-interval:PT5M}")
+    public void rebuild() {
+        long buildSequence = sequence.get();
+        CatalogSnapshot next;
+        try {
+            next = snapshotBuilder.build(buildSequence);
+        } catch (IOException | RuntimeException e) {
+            log.log(Level.WARNING, "Catalog snapshot rebuild failed, keeping the previous snapshot", e);
+            return;
+        }
+
+        CatalogSnapshot previous = snapshot;
+        snapshot = next;
+        dirtyBooks.values().removeIf(changed -> changed <= buildSequence);
+        dirtyAuthors.values().removeIf(changed -> changed <= buildSequence);
+
+        if (previous != null) {
+            try {
+                Files.deleteIfExists(previous.getFile());
+            } catch (IOException e) {
+                log.log(Level.FINE, "Could not delete old catalog snapshot " + previous.getFile(), e);
+            }
+        }
+        log.info("Catalog snapshot rebuilt: " + next.getBookCount() + " books, "
+                + next.getAuthorCount() + " authors, " + next.getSizeInBytes() + " bytes");
+    }
+
+    @Override
+    public void reset() {
+        rebuild();
+    }
+
+    public CatalogSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public int getOverlaySize() {
+        return dirtyBooks.size() + dirtyAuthors.size();
+    }
+
+    private void addVisible(List<BookEntity> books, CatalogSnapshot current, int index, Map<Long, Optional<AuthorEntity>> changedAuthors) {
+        long authorId = current.authorIdOf(index);
+        if (authorId >= 0 && tombstones.isDeleted(authorId)) {
+            return;
+        }
+        BookEntity book = withCurrentAuthor(current.bookAt(index), authorId, changedAuthors);
+        if (book != null) {
+            books.add(book);
+        }
+    }
+
+    private BookEntity withCurrentAuthor(BookEntity book, long authorId, Map<Long, Optional<AuthorEntity>> changedAuthors) {
+        if (authorId >= 0 && dirtyAuthors.containsKey(authorId)) {
+            Optional<AuthorEntity> author = changedAuthors.computeIfAbsent(authorId, authorRepository::findById);
+            if (author.isEmpty()) {
+                return null;
+            }
+            book.setAuthorEntity(author.get());
+        }
+        return book;
+    }
+
+    private long authorIdOf(BookEntity book) {
+        return book.getAuthorEntity() == null ? -1 : book.getAuthorEntity().getId();
+    }
+}
@@ -0,0 +1,173 @@
+package com.devlamq.database.sqlprofile;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    private final SqlProfiler profiler;
+
+    public ProfilingDataSource(DataSource targetDataSource, SqlProfiler profiler) {
+        super(targetDataSource);
+        this.profiler = profiler;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        profiler.connectionAcquired(System.nanoTime() - start);
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(username, password);
+        profiler.connectionAcquired(System.nanoTime() - start);
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ProfilingDataSource.invoke(proxy, connection, method, args);
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, new StatementHandler(statement, null));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+
+        private final String preparedSql;
+
+        private String pendingSql;
+
+        private long pendingNanos;
+
+        private long pendingRows;
+
+        private boolean pending;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close")) {
+                flush();
+                return ProfilingDataSource.invoke(proxy, statement, method, args);
+            }
+            if (!name.startsWith("execute")) {
+                Object result = ProfilingDataSource.invoke(proxy, statement, method, args);
+                if (result instanceof ResultSet resultSet && name.equals("getResultSet")) {
+                    return proxy(ResultSet.class, new ResultSetHandler(resultSet, this));
+                }
+                return result;
+            }
+
+            flush();
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            Object result = ProfilingDataSource.invoke(proxy, statement, method, args);
+            pendingSql = sql;
+            pendingNanos = System.nanoTime() - start;
+            pendingRows = 0;
+            pending = true;
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, this));
+            }
+            flush();
+            return result;
+        }
+
+        void fetched(long nanos, boolean row) {
+            pendingNanos += nanos;
+            if (row) {
+                pendingRows++;
+            }
+        }
+
+        void flush() {
+            if (pending) {
+                pending = false;
+                profiler.statementExecuted(pendingSql == null ? "<batch>" : pendingSql, pendingNanos, pendingRows);
+            }
+        }
+    }
+
+    private static class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+
+        private final StatementHandler statement;
+
+        ResultSetHandler(ResultSet resultSet, StatementHandler statement) {
+            this.resultSet = resultSet;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("next")) {
+                long start = System.nanoTime();
+                Object result = ProfilingDataSource.invoke(proxy, resultSet, method, args);
+                statement.fetched(System.nanoTime() - start, Boolean.TRUE.equals(result));
+                return result;
+            }
+            if (method.getName().equals("close")) {
+                statement.flush();
+            }
+            return ProfilingDataSource.invoke(proxy, resultSet, method, args);
+        }
+    }
+}
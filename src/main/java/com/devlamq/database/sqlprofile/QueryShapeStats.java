@@ -0,0 +1,28 @@
+package com.devlamq.database.sqlprofile;
+
+import lombok.Getter;
+
+@Getter
+public class QueryShapeStats {
+
+    private final String shape;
+
+    private long executions;
+
+    private long totalNanos;
+
+    private long maxNanos;
+
+    private long rows;
+
+    QueryShapeStats(String shape) {
+        this.shape = shape;
+    }
+
+    void add(StatementSample sample) {
+        executions++;
+        totalNanos += sample.getNanos();
+        maxNanos = Math.max(maxNanos, sample.getNanos());
+        rows += sample.getRows();
+    }
+}
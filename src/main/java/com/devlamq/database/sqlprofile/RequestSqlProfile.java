@@ -0,0 +1,42 @@
+package com.devlamq.database.sqlprofile;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class RequestSqlProfile {
+
+    private final int maxRecordedStatements;
+
+    private final List<String> statements = new ArrayList<>();
+
+    private int statementCount;
+
+    private long dbNanos;
+
+    private long rowsFetched;
+
+    private long connectionAcquireNanos;
+
+    public RequestSqlProfile(int maxRecordedStatements) {
+        this.maxRecordedStatements = maxRecordedStatements;
+    }
+
+    void statementExecuted(String sql, long nanos) {
+        statementCount++;
+        dbNanos += nanos;
+        if (statements.size() < maxRecordedStatements) {
+            statements.add(sql);
+        }
+    }
+
+    void rowsFetched(long rows) {
+        rowsFetched += rows;
+    }
+
+    void connectionAcquired(long nanos) {
+        connectionAcquireNanos += nanos;
+    }
+}
@@ -0,0 +1,40 @@
+package com.devlamq.database.sqlprofile;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Endpoint(id = "sqlprofile")
+public class SqlProfileEndpoint {
+
+    private final SqlProfiler profiler;
+
+    private final int defaultLimit;
+
+    public SqlProfileEndpoint(SqlProfiler profiler, int defaultLimit) {
+        this.profiler = profiler;
+        this.defaultLimit = defaultLimit;
+    }
+
+    @ReadOperation
+    public Map<String, Object> topShapes(@Nullable Integer limit) {
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("recordedStatements", profiler.getRecentStatements().getRecorded());
+        profile.put("windowSize", profiler.getRecentStatements().getCapacity());
+        profile.put("topShapes", profiler.topShapes(limit == null ? defaultLimit : limit).stream()
+                .map(shape -> {
+                    Map<String, Object> stats = new LinkedHashMap<>();
+                    stats.put("shape", shape.getShape());
+                    stats.put("executions", shape.getExecutions());
+                    stats.put("totalMs", shape.getTotalNanos() / 1_000_000.0);
+                    stats.put("maxMs", shape.getMaxNanos() / 1_000_000.0);
+                    stats.put("rows", shape.getRows());
+                    return stats;
+                })
+                .toList());
+        return profile;
+    }
+}
@@ -0,0 +1,70 @@
+package com.devlamq.database.sqlprofile;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.java.Log;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@Log
+public class SqlProfileFilter extends OncePerRequestFilter {
+
+    private final SqlProfiler profiler;
+
+    private final int slowStatementCount;
+
+    private final long slowDbNanos;
+
+    private final long slowAcquireNanos;
+
+    public SqlProfileFilter(SqlProfiler profiler, int slowStatementCount, Duration slowDbTime, Duration slowAcquireTime) {
+        this.profiler = profiler;
+        this.slowStatementCount = slowStatementCount;
+        this.slowDbNanos = slowDbTime.toNanos();
+        this.slowAcquireNanos = slowAcquireTime.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        RequestSqlProfile profile = profiler.beginRequest();
+        StatementCountResponseWrapper wrapper = new StatementCountResponseWrapper(response, profile::getStatementCount);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            profiler.endRequest();
+            wrapper.writeHeader();
+            if (isSlow(profile)) {
+                log.warning(describe(request, profile));
+            }
+        }
+    }
+
+    private boolean isSlow(RequestSqlProfile profile) {
+        return profile.getStatementCount() > slowStatementCount
+                || profile.getDbNanos() > slowDbNanos
+                || profile.getConnectionAcquireNanos() > slowAcquireNanos;
+    }
+
+    private static String describe(HttpServletRequest request, RequestSqlProfile profile) {
+        StringBuilder description = new StringBuilder()
+                .append("Slow SQL profile for ").append(request.getMethod()).append(' ').append(request.getRequestURI())
+                .append(": ").append(profile.getStatementCount()).append(" statements, ")
+                .append(profile.getDbNanos() / 1_000_000).append(" ms in DB, ")
+                .append(profile.getRowsFetched()).append(" rows, ")
+                .append(profile.getConnectionAcquireNanos() / 1_000_000).append(" ms acquiring connections");
+        for (String statement : profile.getStatements()) {
+            description.append("\n  ").append(statement);
+        }
+        if (profile.getStatementCount() > profile.getStatements().size()) {
+            description.append("\n  ... ").append(profile.getStatementCount() - profile.getStatements().size()).append(" more");
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.devlamq.database.sqlprofile;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SqlProfiler {
+
+    private final StatementRingBuffer recentStatements;
+
+    private final int maxRecordedStatements;
+
+    private final ThreadLocal<RequestSqlProfile> currentRequest = new ThreadLocal<>();
+
+    public SqlProfiler(int ringBufferSize, int maxRecordedStatements) {
+        this.recentStatements = new StatementRingBuffer(ringBufferSize);
+        this.maxRecordedStatements = maxRecordedStatements;
+    }
+
+    public RequestSqlProfile beginRequest() {
+        RequestSqlProfile profile = new RequestSqlProfile(maxRecordedStatements);
+        currentRequest.set(profile);
+        return profile;
+    }
+
+    public void endRequest() {
+        currentRequest.remove();
+    }
+
+    void connectionAcquired(long nanos) {
+        RequestSqlProfile profile = currentRequest.get();
+        if (profile != null) {
+            profile.connectionAcquired(nanos);
+        }
+    }
+
+    void statementExecuted(String sql, long nanos, long rows) {
+        recentStatements.add(new StatementSample(sql, nanos, rows));
+        RequestSqlProfile profile = currentRequest.get();
+        if (profile != null) {
+            profile.statementExecuted(sql, nanos);
+            profile.rowsFetched(rows);
+        }
+    }
+
+    public List<QueryShapeStats> topShapes(int limit) {
+        Map<String, QueryShapeStats> shapes = new HashMap<>();
+        for (StatementSample sample : recentStatements.samples()) {
+            shapes.computeIfAbsent(QueryShapes.of(sample.getSql()), QueryShapeStats::new).add(sample);
+        }
+        return shapes.values().stream()
+                .sorted(Comparator.comparingLong(QueryShapeStats::getTotalNanos).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public StatementRingBuffer getRecentStatements() {
+        return recentStatements;
+    }
+}
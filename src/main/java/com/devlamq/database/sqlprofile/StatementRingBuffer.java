@@ -0,0 +1,44 @@
+package com.devlamq.database.sqlprofile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class StatementRingBuffer {
+
+    private final AtomicReferenceArray<StatementSample> slots;
+
+    private final int mask;
+
+    private final AtomicLong cursor = new AtomicLong();
+
+    public StatementRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public void add(StatementSample sample) {
+        slots.lazySet((int) (cursor.getAndIncrement() & mask), sample);
+    }
+
+    public List<StatementSample> samples() {
+        List<StatementSample> samples = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            StatementSample sample = slots.get(i);
+            if (sample != null) {
+                samples.add(sample);
+            }
+        }
+        return samples;
+    }
+
+    public long getRecorded() {
+        return cursor.get();
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,13 @@
+package com.devlamq.database.sqlprofile;
+
+import lombok.Value;
+
+@Value
+public class StatementSample {
+
+    String sql;
+
+    long nanos;
+
+    long rows;
+}
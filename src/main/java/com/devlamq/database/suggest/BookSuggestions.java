@@ -0,0 +1,328 @@
+package com.devlamq.database.suggest;
+
+import com.devlamq.database.domain.dto.BookSuggestionDto;
+import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.domain.events.AuthorBooksDeletedEvent;
+import com.devlamq.database.domain.events.BookChangedEvent;
+import com.devlamq.database.repositories.BookRepository;
+import com.devlamq.database.services.CatalogDerivedState;
+import com.devlamq.database.services.cleanup.AuthorTombstones;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+@Component
+@Log
+public class BookSuggestions implements CatalogDerivedState {
+
+    private static final byte SEPARATOR = 0;
+
+    private static final Pattern ISBN_PUNCTUATION = Pattern.compile("[\\s-]");
+
+    private final BookRepository bookRepository;
+
+    private final AuthorTombstones authorTombstones;
+
+    private final boolean enabled;
+
+    private final int scanBatchSize;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Map<String, Entry> added = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> removed = new ConcurrentHashMap<>();
+
+    private final Map<Long, Long> reapedAuthors = new ConcurrentHashMap<>();
+
+    private volatile Index index = Index.EMPTY;
+
+    public BookSuggestions(
+            BookRepository bookRepository,
+            AuthorTombstones authorTombstones,
+            @Value("${books.suggest.enabled:false}") boolean enabled,
+            @Value("${books.suggest.scan-batch-size:10000}") int scanBatchSize) {
+        this.bookRepository = bookRepository;
+        this.authorTombstones = authorTombstones;
+        this.enabled = enabled;
+        this.scanBatchSize = scanBatchSize;
+    }
+
+    @PostConstruct
+    @Scheduled(
+            initialDelayString = "${books.suggest.rebuild-interval:PT10M}",
+            fixedDelayString = "${books.suggest.rebuild-interval:PT10M}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long rebuiltThrough = sequence.get();
+        Index previous = index;
+        List<CompactRadixTrie.Key> isbnKeys = new ArrayList<>();
+        List<CompactRadixTrie.Key> titleKeys = new ArrayList<>();
+
+        List<BookEntity> page = bookRepository.findByIsbnGreaterThanOrderByIsbn("", Limit.of(scanBatchSize));
+        while (!page.isEmpty()) {
+            for (BookEntity book : page) {
+                if (authorTombstones.isHidden(book)) {
+                    continue;
+                }
+                Entry entry = added.get(book.getIsbn());
+                int reads = entry != null ? entry.reads.get() : Math.max(0, readsOf(previous, book.getIsbn()));
+                Long authorId = BookChangedEvent.authorIdOf(book);
+                isbnKeys.add(new CompactRadixTrie.Key(isbnKey(book.getIsbn(), authorId, book.getTitle()), reads));
+                if (book.getTitle() != null && !book.getTitle().isEmpty()) {
+                    titleKeys.add(new CompactRadixTrie.Key(titleKey(book.getTitle(), book.getIsbn(), authorId), reads));
+                }
+            }
+            page = page.size() < scanBatchSize
+                    ? List.of()
+                    : bookRepository.findByIsbnGreaterThanOrderByIsbn(page.get(page.size() - 1).getIsbn(), Limit.of(scanBatchSize));
+        }
+
+        index = new Index(CompactRadixTrie.build(isbnKeys), CompactRadixTrie.build(titleKeys));
+        added.values().removeIf(entry -> entry.sequence <= rebuiltThrough);
+        removed.values().removeIf(removedAt -> removedAt <= rebuiltThrough);
+        reapedAuthors.values().removeIf(reapedAt -> reapedAt <= rebuiltThrough);
+        log.info("Book suggestions rebuilt in " + (System.nanoTime() - start) / 1_000_000 + " ms: "
+                + index.isbns.size() + " books in " + getSizeInBytes() + " bytes");
+    }
+
+    @Override
+    public void reset() {
+        rebuild();
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        String isbn = event.getIsbn();
+        int reads = 0;
+        if (event.isExistedBefore()) {
+            Entry previous = added.remove(isbn);
+            reads = previous != null ? previous.reads.get() : Math.max(0, readsOf(index, isbn));
+            removed.put(isbn, sequence.incrementAndGet());
+        }
+        if (event.isExistsAfter()) {
+            added.put(isbn, new Entry(isbn, event.getTitle(), event.getAuthorId(), reads, sequence.incrementAndGet()));
+        }
+    }
+
+    @EventListener
+    public void onAuthorBooksDeleted(AuthorBooksDeletedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        reapedAuthors.put(event.getAuthorId(), sequence.incrementAndGet());
+        added.values().removeIf(entry -> event.getAuthorId().equals(entry.authorId));
+    }
+
+    public void recordRead(BookEntity book) {
+        if (!enabled || book == null) {
+            return;
+        }
+        Entry entry = added.get(book.getIsbn());
+        if (entry != null) {
+            entry.reads.incrementAndGet();
+            return;
+        }
+        if (removed.containsKey(book.getIsbn())) {
+            return;
+        }
+        Index current = index;
+        Long authorId = BookChangedEvent.authorIdOf(book);
+        current.isbns.increment(isbnKey(book.getIsbn(), authorId, book.getTitle()));
+        if (book.getTitle() != null && !book.getTitle().isEmpty()) {
+            current.titles.increment(titleKey(book.getTitle(), book.getIsbn(), authorId));
+        }
+    }
+
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        Index current = index;
+        Map<String, BookSuggestionDto> suggestions = new LinkedHashMap<>();
+
+        String digits = digitsOf(prefix);
+        boolean isbnLike = !digits.isEmpty() && digits.length() == ISBN_PUNCTUATION.matcher(prefix).replaceAll("").length();
+        if (isbnLike) {
+            byte[] digitsPrefix = digits.getBytes(StandardCharsets.UTF_8);
+            for (CompactRadixTrie.Match match : current.isbns.top(digitsPrefix, false, limit, this::isVisibleKey)) {
+                BookSuggestionDto suggestion = fromIsbnKey(match);
+                suggestions.putIfAbsent(suggestion.getIsbn(), suggestion);
+            }
+        }
+        byte[] titlePrefix = prefix.getBytes(StandardCharsets.UTF_8);
+        for (CompactRadixTrie.Match match : current.titles.top(titlePrefix, true, limit, this::isVisibleKey)) {
+            BookSuggestionDto suggestion = fromTitleKey(match);
+            suggestions.putIfAbsent(suggestion.getIsbn(), suggestion);
+        }
+        for (Entry entry : added.values()) {
+            if (isVisibleAuthor(entry.authorId) && entry.matches(prefix, isbnLike ? digits : null)) {
+                suggestions.put(entry.isbn, new BookSuggestionDto(entry.isbn, entry.title, (long) entry.reads.get()));
+            }
+        }
+
+        return suggestions.values().stream()
+                .sorted(Comparator.comparing(BookSuggestionDto::getReads).reversed()
+                        .thenComparing(BookSuggestionDto::getIsbn))
+                .limit(limit)
+                .toList();
+    }
+
+    public long getSizeInBytes() {
+        Index current = index;
+        return current.isbns.getSizeInBytes() + current.titles.getSizeInBytes();
+    }
+
+    public int getPendingChanges() {
+        return added.size() + removed.size();
+    }
+
+    private boolean isVisibleKey(byte[] key) {
+        int isbnStart = indexOf(key, 0) + 1;
+        int authorStart = indexOf(key, isbnStart) + 1;
+        if (removed.containsKey(new String(key, isbnStart, authorStart - 1 - isbnStart, StandardCharsets.UTF_8))) {
+            return false;
+        }
+        return isVisibleAuthor(authorOf(key, authorStart));
+    }
+
+    private boolean isVisibleAuthor(Long authorId) {
+        return authorId == null || (!authorTombstones.isDeleted(authorId) && !reapedAuthors.containsKey(authorId));
+    }
+
+    private static int readsOf(Index index, String isbn) {
+        byte[] prefix = isbnPrefix(isbn);
+        List<CompactRadixTrie.Match> matches = index.isbns.top(prefix, false, 1);
+        return matches.isEmpty() ? -1 : matches.get(0).getWeight();
+    }
+
+    static byte[] isbnKey(String isbn, Long authorId, String title) {
+        byte[] prefix = isbnPrefix(isbn);
+        byte[] suffix = (authorText(authorId) + (char) SEPARATOR + (title == null ? "" : title)).getBytes(StandardCharsets.UTF_8);
+        byte[] key = Arrays.copyOf(prefix, prefix.length + suffix.length);
+        System.arraycopy(suffix, 0, key, prefix.length, suffix.length);
+        return key;
+    }
+
+    static byte[] titleKey(String title, String isbn, Long authorId) {
+        return (title + (char) SEPARATOR + isbn + (char) SEPARATOR + authorText(authorId) + (char) SEPARATOR)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String authorText(Long authorId) {
+        return authorId == null ? "" : authorId.toString();
+    }
+
+    private static Long authorOf(byte[] key, int authorStart) {
+        int authorEnd = indexOf(key, authorStart);
+        return authorEnd == authorStart ? null : Long.valueOf(new String(key, authorStart, authorEnd - authorStart, StandardCharsets.UTF_8));
+    }
+
+    private static byte[] isbnPrefix(String isbn) {
+        return (digitsOf(isbn) + (char) SEPARATOR + isbn + (char) SEPARATOR).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String digitsOf(String value) {
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c == 'x' || c == 'X') {
+                digits.append('X');
+            }
+        }
+        return digits.toString();
+    }
+
+    private static BookSuggestionDto fromIsbnKey(CompactRadixTrie.Match match) {
+        byte[] key = match.getKey();
+        int isbnStart = indexOf(key, 0) + 1;
+        int authorStart = indexOf(key, isbnStart) + 1;
+        int titleStart = indexOf(key, authorStart) + 1;
+        String isbn = new String(key, isbnStart, authorStart - 1 - isbnStart, StandardCharsets.UTF_8);
+        String title = titleStart == key.length ? null : new String(key, titleStart, key.length - titleStart, StandardCharsets.UTF_8);
+        return new BookSuggestionDto(isbn, title, (long) match.getWeight());
+    }
+
+    private static BookSuggestionDto fromTitleKey(CompactRadixTrie.Match match) {
+        byte[] key = match.getKey();
+        int separator = indexOf(key, 0);
+        String title = new String(key, 0, separator, StandardCharsets.UTF_8);
+        String isbn = new String(key, separator + 1, indexOf(key, separator + 1) - separator - 1, StandardCharsets.UTF_8);
+        return new BookSuggestionDto(isbn, title, (long) match.getWeight());
+    }
+
+    private static int indexOf(byte[] key, int from) {
+        for (int i = from; i < key.length; i++) {
+            if (key[i] == SEPARATOR) {
+                return i;
+            }
+        }
+        return key.length;
+    }
+
+    private static final class Index {
+
+        static final Index EMPTY = new Index(CompactRadixTrie.build(List.of()), CompactRadixTrie.build(List.of()));
+
+        final CompactRadixTrie isbns;
+
+        final CompactRadixTrie titles;
+
+        Index(CompactRadixTrie isbns, CompactRadixTrie titles) {
+            this.isbns = isbns;
+            this.titles = titles;
+        }
+    }
+
+    private static final class Entry {
+
+        final String isbn;
+
+        final String title;
+
+        final Long authorId;
+
+        final AtomicInteger reads;
+
+        final long sequence;
+
+        Entry(String isbn, String title, Long authorId, int reads, long sequence) {
+            this.isbn = isbn;
+            this.title = title;
+            this.authorId = authorId;
+            this.reads = new AtomicInteger(reads);
+            this.sequence = sequence;
+        }
+
+        boolean matches(String prefix, String digits) {
+            if (title != null && title.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                return true;
+            }
+            return digits != null && digitsOf(isbn).startsWith(digits);
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.devlamq.database.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Predicate;
+
+public final class CompactRadixTrie {
+
+    private static final int COUNT_BITS = 9;
+
+    private static final int COUNT_MASK = (1 << COUNT_BITS) - 1;
+
+    private static final int ROOT = 0;
+
+    private final byte[] labels;
+
+    private final int[] labelStarts;
+
+    private final int[] firstChildOrLeaf;
+
+    private final int[] lengthAndCount;
+
+    private final AtomicIntegerArray maxWeights;
+
+    private final AtomicIntegerArray leafWeights;
+
+    private CompactRadixTrie(
+            byte[] labels,
+            int[] labelStarts,
+            int[] firstChildOrLeaf,
+            int[] lengthAndCount,
+            int[] leafWeights) {
+        this.labels = labels;
+        this.labelStarts = labelStarts;
+        this.firstChildOrLeaf = firstChildOrLeaf;
+        this.lengthAndCount = lengthAndCount;
+        this.leafWeights = new AtomicIntegerArray(leafWeights);
+        this.maxWeights = new AtomicIntegerArray(labelStarts.length);
+        for (int node = labelStarts.length - 1; node >= 0; node--) {
+            int max = isLeaf(node) ? leafWeights[firstChildOrLeaf[node]] : 0;
+            for (int child = firstChild(node), end = child + childCount(node); child < end; child++) {
+                max = Math.max(max, maxWeights.get(child));
+            }
+            maxWeights.set(node, max);
+        }
+    }
+
+    public static final class Key {
+
+        private final byte[] bytes;
+
+        private final int weight;
+
+        public Key(byte[] bytes, int weight) {
+            if (bytes.length == 0) {
+                throw new IllegalArgumentException("Keys must not be empty");
+            }
+            this.bytes = bytes;
+            this.weight = weight;
+        }
+    }
+
+    public static final class Match {
+
+        private final byte[] key;
+
+        private final int weight;
+
+        Match(byte[] key, int weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+
+        public byte[] getKey() {
+            return key;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+    }
+
+    public static CompactRadixTrie build(List<Key> unsortedKeys) {
+        List<Key> keys = new ArrayList<>(unsortedKeys);
+        keys.sort((left, right) -> Arrays.compareUnsigned(left.bytes, right.bytes));
+        keys = distinct(keys);
+
+        int capacity = Math.max(1, keys.size() * 2);
+        byte[] labels = new byte[1024];
+        int labelSize = 0;
+        int[] labelStarts = new int[capacity];
+        int[] firstChildOrLeaf = new int[capacity];
+        int[] lengthAndCount = new int[capacity];
+        int[] rangeStarts = new int[capacity];
+        int[] rangeEnds = new int[capacity];
+        int[] depths = new int[capacity];
+        rangeEnds[ROOT] = keys.size();
+        int nodeCount = 1;
+
+        for (int node = 0; node < nodeCount; node++) {
+            int lo = rangeStarts[node];
+            int hi = rangeEnds[node];
+            int depth = depths[node];
+            if (hi - lo == 1 && keys.get(lo).bytes.length == depth) {
+                firstChildOrLeaf[node] = lo;
+                continue;
+            }
+
+            int firstChild = nodeCount;
+            for (int groupStart = lo; groupStart < hi; ) {
+                byte[] first = keys.get(groupStart).bytes;
+                if (first.length == depth) {
+                    throw new IllegalArgumentException("Keys must not be prefixes of other keys");
+                }
+                int groupEnd = groupStart + 1;
+                while (groupEnd < hi && keys.get(groupEnd).bytes[depth] == first[depth]) {
+                    groupEnd++;
+                }
+                byte[] last = keys.get(groupEnd - 1).bytes;
+                int length = groupEnd - groupStart == 1 ? first.length - depth : commonPrefix(first, last, depth);
+
+                if (nodeCount == labelStarts.length) {
+                    int grown = labelStarts.length * 2;
+                    labelStarts = Arrays.copyOf(labelStarts, grown);
+                    firstChildOrLeaf = Arrays.copyOf(firstChildOrLeaf, grown);
+                    lengthAndCount = Arrays.copyOf(lengthAndCount, grown);
+                    rangeStarts = Arrays.copyOf(rangeStarts, grown);
+                    rangeEnds = Arrays.copyOf(rangeEnds, grown);
+                    depths = Arrays.copyOf(depths, grown);
+                }
+                if (labelSize + length > labels.length) {
+                    labels = Arrays.copyOf(labels, Math.max(labels.length * 2, labelSize + length));
+                }
+                System.arraycopy(first, depth, labels, labelSize, length);
+                labelStarts[nodeCount] = labelSize;
+                lengthAndCount[nodeCount] = length << COUNT_BITS;
+                rangeStarts[nodeCount] = groupStart;
+                rangeEnds[nodeCount] = groupEnd;
+                depths[nodeCount] = depth + length;
+                labelSize += length;
+                nodeCount++;
+                groupStart = groupEnd;
+            }
+            firstChildOrLeaf[node] = firstChild;
+            lengthAndCount[node] |= nodeCount - firstChild;
+        }
+
+        int[] leafWeights = new int[keys.size()];
+        for (int i = 0; i < leafWeights.length; i++) {
+            leafWeights[i] = keys.get(i).weight;
+        }
+        return new CompactRadixTrie(
+                Arrays.copyOf(labels, labelSize),
+                Arrays.copyOf(labelStarts, nodeCount),
+                Arrays.copyOf(firstChildOrLeaf, nodeCount),
+                Arrays.copyOf(lengthAndCount, nodeCount),
+                leafWeights);
+    }
+
+    public int size() {
+        return leafWeights.length();
+    }
+
+    public long getSizeInBytes() {
+        return labels.length + 16L * labelStarts.length + 4L * leafWeights.length();
+    }
+
+    public int weightOf(byte[] key) {
+        int node = find(key, null);
+        return node < 0 ? -1 : leafWeights.get(firstChildOrLeaf[node]);
+    }
+
+    public boolean increment(byte[] key) {
+        int[] path = new int[key.length + 1];
+        int node = find(key, path);
+        if (node < 0) {
+            return false;
+        }
+        int weight = leafWeights.incrementAndGet(firstChildOrLeaf[node]);
+        for (int i = 0; i < path.length && path[i] >= 0; i++) {
+            int ancestor = path[i];
+            int max = maxWeights.get(ancestor);
+            while (max < weight && !maxWeights.compareAndSet(ancestor, max, weight)) {
+                max = maxWeights.get(ancestor);
+            }
+        }
+        return true;
+    }
+
+    public List<Match> top(byte[] prefix, boolean ignoreAsciiCase, int limit) {
+        return top(prefix, ignoreAsciiCase, limit, key -> true);
+    }
+
+    public List<Match> top(byte[] prefix, boolean ignoreAsciiCase, int limit, Predicate<byte[]> accept) {
+        List<Match> matches = new ArrayList<>(limit);
+        if (size() == 0 || limit <= 0) {
+            return matches;
+        }
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(Candidate.ORDER);
+        findStarts(ROOT, new byte[0], prefix, 0, ignoreAsciiCase, queue);
+        while (!queue.isEmpty() && matches.size() < limit) {
+            Candidate candidate = queue.poll();
+            if (candidate.result) {
+                if (accept.test(candidate.path)) {
+                    matches.add(new Match(candidate.path, candidate.priority));
+                }
+            } else if (isLeaf(candidate.node)) {
+                queue.add(new Candidate(candidate.node, candidate.path, true,
+                        leafWeights.get(firstChildOrLeaf[candidate.node])));
+            } else {
+                for (int child = firstChild(candidate.node), end = child + childCount(candidate.node); child < end; child++) {
+                    queue.add(new Candidate(child, append(candidate.path, child), false, maxWeights.get(child)));
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void findStarts(int node, byte[] path, byte[] prefix, int offset, boolean ignoreAsciiCase, PriorityQueue<Candidate> starts) {
+        if (offset == prefix.length) {
+            starts.add(new Candidate(node, path, false, maxWeights.get(node)));
+            return;
+        }
+        for (int child = firstChild(node), end = child + childCount(node); child < end; child++) {
+            int compared = Math.min(labelLength(child), prefix.length - offset);
+            if (regionMatches(labelStarts[child], prefix, offset, compared, ignoreAsciiCase)) {
+                findStarts(child, append(path, child), prefix, offset + compared, ignoreAsciiCase, starts);
+            }
+        }
+    }
+
+    private int find(byte[] key, int[] path) {
+        int node = ROOT;
+        int offset = 0;
+        int depth = 0;
+        while (offset < key.length) {
+            if (path != null) {
+                path[depth++] = node;
+            }
+            int child = childStartingWith(node, key[offset]);
+            if (child < 0) {
+                return -1;
+            }
+            int length = labelLength(child);
+            if (offset + length > key.length || !regionMatches(labelStarts[child], key, offset, length, false)) {
+                return -1;
+            }
+            offset += length;
+            node = child;
+        }
+        if (path != null) {
+            path[depth++] = node;
+            if (depth < path.length) {
+                path[depth] = -1;
+            }
+        }
+        return isLeaf(node) ? node : -1;
+    }
+
+    private int childStartingWith(int node, byte value) {
+        int low = firstChild(node);
+        int high = low + childCount(node) - 1;
+        int target = value & 0xFF;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int first = labels[labelStarts[middle]] & 0xFF;
+            if (first < target) {
+                low = middle + 1;
+            } else if (first > target) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private boolean regionMatches(int labelStart, byte[] other, int offset, int length, boolean ignoreAsciiCase) {
+        for (int i = 0; i < length; i++) {
+            byte label = labels[labelStart + i];
+            byte value = other[offset + i];
+            if (label != value && (!ignoreAsciiCase || foldCase(label) != foldCase(value))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] append(byte[] path, int node) {
+        byte[] extended = Arrays.copyOf(path, path.length + labelLength(node));
+        System.arraycopy(labels, labelStarts[node], extended, path.length, labelLength(node));
+        return extended;
+    }
+
+    private boolean isLeaf(int node) {
+        return node != ROOT && childCount(node) == 0;
+    }
+
+    private int firstChild(int node) {
+        return firstChildOrLeaf[node];
+    }
+
+    private int childCount(int node) {
+        return lengthAndCount[node] & COUNT_MASK;
+    }
+
+    private int labelLength(int node) {
+        return lengthAndCount[node] >>> COUNT_BITS;
+    }
+
+    private static byte foldCase(byte value) {
+        return value >= 'A' && value <= 'Z' ? (byte) (value + ('a' - 'A')) : value;
+    }
+
+    private static int commonPrefix(byte[] first, byte[] last, int from) {
+        int length = Math.min(first.length, last.length);
+        int i = from;
+        while (i < length && first[i] == last[i]) {
+            i++;
+        }
+        return i - from;
+    }
+
+    private static List<Key> distinct(List<Key> sorted) {
+        List<Key> distinct = new ArrayList<>(sorted.size());
+        for (Key key : sorted) {
+            if (!distinct.isEmpty() && Arrays.equals(distinct.get(distinct.size() - 1).bytes, key.bytes)) {
+                distinct.set(distinct.size() - 1, key);
+            } else {
+                distinct.add(key);
+            }
+        }
+        return distinct;
+    }
+
+    private static final class Candidate {
+
+        static final Comparator<Candidate> ORDER = Comparator
+                .comparingInt((Candidate candidate) -> candidate.priority).reversed()
+                .thenComparing(candidate -> !candidate.result);
+
+        final int node;
+
+        final byte[] path;
+
+        final boolean result;
+
+        final int priority;
+
+        Candidate(int node, byte[] path, boolean result, int priority) {
+            this.node = node;
+            this.path = path;
+            this.result = result;
+            this.priority = priority;
+        }
+    }
+}
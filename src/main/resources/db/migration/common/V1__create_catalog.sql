@@ -0,0 +1,16 @@
+create sequence if not exists author_id_seq start with 1 increment by 50;
+
+create table if not exists authors (
+    id bigint not null,
+    name varchar(255),
+    age integer,
+    primary key (id)
+);
+
+create table if not exists books (
+    isbn varchar(255) not null,
+    title varchar(255),
+    author_id bigint,
+    primary key (isbn),
+    constraint fk_books_author foreign key (author_id) references authors (id)
+);
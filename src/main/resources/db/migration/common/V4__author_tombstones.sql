@@ -0,0 +1 @@
+alter table authors add column if not exists deleted_at timestamp;
@@ -0,0 +1,9 @@
+alter table books alter column isbn set data type varchar(17);
+alter table books alter column title set data type varchar(512);
+
+-- H2 has no expression indexes, so lower(name) is materialized as a generated column and indexed instead.
+alter table authors add column if not exists name_lower varchar(255) generated always as (lower(name));
+
+create index if not exists idx_books_author_id on books (author_id);
+create index if not exists idx_books_title_prefix on books (title);
+create index if not exists idx_authors_name_lower on authors (name_lower);
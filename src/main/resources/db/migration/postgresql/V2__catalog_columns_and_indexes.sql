@@ -0,0 +1,26 @@
+alter table books alter column isbn type varchar(17);
+alter table books alter column title type varchar(512);
+
+create index if not exists idx_books_author_id on books (author_id);
+create index if not exists idx_books_title_prefix on books (title varchar_pattern_ops);
+create index if not exists idx_authors_name_lower on authors (lower(name));
+
+-- pg_trgm backs substring search on titles. Creating it needs superuser, or on Postgres 13+ (where it is a
+-- trusted extension) the CREATE privilege on the database. Without either the trigram index is skipped and
+-- can be added later by a privileged role with the statements below.
+do $$
+begin
+    if not exists (select 1 from pg_extension where extname = 'pg_trgm')
+            and ((select rolsuper from pg_roles where rolname = current_user)
+                or (current_setting('server_version_num')::int >= 130000
+                    and has_database_privilege(current_database(), 'CREATE'))) then
+        create extension if not exists pg_trgm;
+    end if;
+
+    if exists (select 1 from pg_extension where extname = 'pg_trgm') then
+        create index if not exists idx_books_title_trgm on books using gin (title gin_trgm_ops);
+    else
+        raise notice 'pg_trgm is not installed and % may not create it; skipping idx_books_title_trgm', current_user;
+    end if;
+end
+$$;
@@ -0,0 +1 @@
+alter table books alter column isbn type varchar(17) collate "C";
@@ -0,0 +1,86 @@
+package com.devlamq.database;
+
+import com.devlamq.database.fixtures.CatalogGenerator;
+import com.devlamq.database.fixtures.DatabaseCleaner;
+import com.devlamq.database.services.CatalogDerivedState;
+import lombok.extern.java.Log;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Log
+@SpringBootTest
+@AutoConfigureMockMvc
+@Tag("performance")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CatalogScaleTests {
+
+    private static final int AUTHORS = Integer.getInteger("catalog.authors", 100_000);
+
+    private static final int BOOKS = Integer.getInteger("catalog.books", 1_000_000);
+
+    private final MockMvc mockMvc;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DatabaseCleaner databaseCleaner;
+
+    private long firstAuthorId;
+
+    @Autowired
+    public CatalogScaleTests(MockMvc mockMvc, JdbcTemplate jdbcTemplate, List<CatalogDerivedState> derivedStates) {
+        this.mockMvc = mockMvc;
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseCleaner = new DatabaseCleaner(jdbcTemplate, derivedStates);
+    }
+
+    @BeforeAll
+    public void populateCatalog() {
+        databaseCleaner.truncateCatalog();
+        long start = System.nanoTime();
+        firstAuthorId = CatalogGenerator.of(42L, AUTHORS, BOOKS).populate(jdbcTemplate);
+        databaseCleaner.resetDerivedState();
+        log.info(String.format("Generated %d authors and %d books in %d ms",
+                AUTHORS, BOOKS, (System.nanoTime() - start) / 1_000_000));
+    }
+
+    @AfterAll
+    public void truncateCatalog() {
+        databaseCleaner.truncateCatalog();
+    }
+
+    @Test
+    public void testThatGeneratedCatalogHasExpectedSizeAndSkew() {
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Long.class)).isEqualTo(BOOKS);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM authors", Long.class)).isEqualTo(AUTHORS);
+
+        Long topAuthorBooks = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM books WHERE author_id = ?", Long.class, firstAuthorId);
+        assertThat(topAuthorBooks).isGreaterThan((long) BOOKS / AUTHORS * 100);
+    }
+
+    @Test
+    public void testThatPointReadsStayFastAtScale() throws Exception {
+        int reads = 10_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < reads; i++) {
+            mockMvc.perform(
+                    MockMvcRequestBuilders.get("/books/" + CatalogGenerator.isbn((i * 7919L) % BOOKS))
+            ).andExpect(MockMvcResultMatchers.status().isOk());
+        }
+        log.info(String.format("%d point reads in %d ms", reads, (System.nanoTime() - start) / 1_000_000));
+    }
+}
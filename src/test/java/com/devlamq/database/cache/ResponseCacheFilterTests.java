@@ -0,0 +1,27 @@
+package com.devlamq.database.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseCacheFilterTests {
+
+    @Test
+    public void testThatCacheKeyOrdersParametersByName() {
+        assertThat(ResponseCacheFilter.cacheKey("/books", "limit=1&after=978"))
+                .isEqualTo(ResponseCacheFilter.cacheKey("/books", "after=978&limit=1"))
+                .isEqualTo("/books?after=978&limit=1");
+    }
+
+    @Test
+    public void testThatCacheKeyKeepsTheOrderOfRepeatedParameters() {
+        assertThat(ResponseCacheFilter.cacheKey("/books", "tag=b&limit=1&tag=a"))
+                .isEqualTo("/books?limit=1&tag=b&tag=a");
+    }
+
+    @Test
+    public void testThatCacheKeyWithoutQueryIsThePath() {
+        assertThat(ResponseCacheFilter.cacheKey("/books", null)).isEqualTo("/books");
+        assertThat(ResponseCacheFilter.cacheKey("/books", "")).isEqualTo("/books");
+    }
+}
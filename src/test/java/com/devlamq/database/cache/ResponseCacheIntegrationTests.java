@@ -0,0 +1,117 @@
+package com.devlamq.database.cache;
+
+import com.devlamq.database.TestDataUtil;
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.fixtures.DatabaseCleaner;
+import com.devlamq.database.services.AuthorService;
+import com.devlamq.database.services.BookService;
+import com.devlamq.database.services.CatalogDerivedState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+@SpringBootTest(properties = "books.response-cache.enabled=true")
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc
+public class ResponseCacheIntegrationTests {
+
+    private final MockMvc mockMvc;
+
+    private final AuthorService authorService;
+
+    private final BookService bookService;
+
+    private final DatabaseCleaner databaseCleaner;
+
+    @Autowired
+    public ResponseCacheIntegrationTests(
+            MockMvc mockMvc,
+            AuthorService authorService,
+            BookService bookService,
+            JdbcTemplate jdbcTemplate,
+            List<CatalogDerivedState> derivedStates) {
+        this.mockMvc = mockMvc;
+        this.authorService = authorService;
+        this.bookService = bookService;
+        this.databaseCleaner = new DatabaseCleaner(jdbcTemplate, derivedStates);
+    }
+
+    @BeforeEach
+    public void resetDatabase() {
+        databaseCleaner.truncateCatalog();
+    }
+
+    @Test
+    public void testThatSecondListRequestIsServedFromTheCache() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        saveBook(TestDataUtil.createTestBookA(author));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books"))
+                .andExpect(MockMvcResultMatchers.header().string("X-Cache", "MISS"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].title").value("The Shadow in the Attic"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/books"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("X-Cache", "HIT"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].title").value("The Shadow in the Attic"));
+    }
+
+    @Test
+    public void testThatBookAndAuthorWritesInvalidateCachedLists() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        BookEntity book = saveBook(TestDataUtil.createTestBookA(author));
+        mockMvc.perform(MockMvcRequestBuilders.get("/books"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors"));
+
+        book.setTitle("Beneath the Attic");
+        bookService.partialUpdate(book.getIsbn(), book);
+        mockMvc.perform(MockMvcRequestBuilders.get("/books"))
+                .andExpect(MockMvcResultMatchers.header().string("X-Cache", "MISS"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].title").value("Beneath the Attic"));
+
+        author.setName("Abigail R. Rose");
+        authorService.save(author);
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors"))
+                .andExpect(MockMvcResultMatchers.header().string("X-Cache", "MISS"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("Abigail R. Rose"));
+    }
+
+    @Test
+    public void testThatQueryStringsAreCachedSeparately() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        saveBook(TestDataUtil.createTestBookA(author));
+        saveBook(TestDataUtil.createTestBookB(author));
+        mockMvc.perform(MockMvcRequestBuilders.get("/books"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books?limit=1"))
+                .andExpect(MockMvcResultMatchers.header().string("X-Cache", "MISS"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    public void testThatParameterOrderDoesNotSplitCacheEntries() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        saveBook(TestDataUtil.createTestBookA(author));
+        saveBook(TestDataUtil.createTestBookB(author));
+        mockMvc.perform(MockMvcRequestBuilders.get("/books?limit=1&after=978-1-2345-6789-0"))
+                .andExpect(MockMvcResultMatchers.header().string("X-Cache", "MISS"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books?after=978-1-2345-6789-0&limit=1"))
+                .andExpect(MockMvcResultMatchers.header().string("X-Cache", "HIT"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].isbn").value("978-1-2345-6789-1"));
+    }
+
+    private BookEntity saveBook(BookEntity book) {
+        return bookService.createUpdateBook(book.getIsbn(), book);
+    }
+}
@@ -0,0 +1,63 @@
+package com.devlamq.database.cache;
+
+import com.devlamq.database.domain.events.AuthorChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseCacheTests {
+
+    private static final String JSON = "application/json";
+
+    @Test
+    public void testThatLeastRecentlyUsedEntriesAreEvictedToStayWithinTheByteBudget() {
+        ResponseCache cache = new ResponseCache(100);
+        long generation = cache.currentGeneration();
+
+        assertThat(cache.put("/a", generation, JSON, new byte[40])).isTrue();
+        assertThat(cache.put("/b", generation, JSON, new byte[40])).isTrue();
+        assertThat(cache.get("/a")).isNotNull();
+        assertThat(cache.put("/c", generation, JSON, new byte[40])).isTrue();
+
+        assertThat(cache.get("/b")).isNull();
+        assertThat(cache.get("/a")).isNotNull();
+        assertThat(cache.get("/c")).isNotNull();
+        assertThat(cache.getUsedBytes()).isEqualTo(80);
+    }
+
+    @Test
+    public void testThatBodiesLargerThanTheBudgetAreNotStored() {
+        ResponseCache cache = new ResponseCache(100);
+
+        assertThat(cache.put("/a", cache.currentGeneration(), JSON, new byte[101])).isFalse();
+
+        assertThat(cache.get("/a")).isNull();
+        assertThat(cache.getUsedBytes()).isZero();
+    }
+
+    @Test
+    public void testThatReplacingAnEntryDoesNotDoubleCountItsBytes() {
+        ResponseCache cache = new ResponseCache(100);
+        long generation = cache.currentGeneration();
+
+        cache.put("/a", generation, JSON, new byte[60]);
+        cache.put("/a", generation, JSON, new byte[30]);
+
+        assertThat(cache.getUsedBytes()).isEqualTo(30);
+        assertThat(cache.get("/a").getBody()).hasSize(30);
+    }
+
+    @Test
+    public void testThatWritesInvalidateEntriesAndRejectResponsesRenderedBeforeThem() {
+        ResponseCache cache = new ResponseCache(100);
+        long before = cache.currentGeneration();
+        cache.put("/a", before, JSON, new byte[10]);
+
+        cache.onAuthorChanged(new AuthorChangedEvent(7L));
+
+        assertThat(cache.get("/a")).isNull();
+        assertThat(cache.getUsedBytes()).isZero();
+        assertThat(cache.put("/a", before, JSON, new byte[10])).isFalse();
+        assertThat(cache.put("/a", cache.currentGeneration(), JSON, new byte[10])).isTrue();
+    }
+}
@@ -0,0 +1,100 @@
+package com.devlamq.database.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressingResponseWrapperTests {
+
+    private static final int MIN_RESPONSE_SIZE = 1024;
+
+    private final CompressionSettings settings =
+            new CompressionSettings(EnumSet.of(ContentEncoding.ZSTD, ContentEncoding.GZIP), MIN_RESPONSE_SIZE, 3, 6);
+
+    @Test
+    public void testThatLargeBodiesAreCompressedWhileStreaming() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CompressingResponseWrapper wrapper = new CompressingResponseWrapper(response, settings, "gzip");
+        wrapper.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ServletOutputStream out = wrapper.getOutputStream();
+
+        byte[] chunk = chunk();
+        out.write(chunk);
+        out.flush();
+        int streamedBeforeFinish = response.getContentAsByteArray().length;
+        out.write(chunk);
+        wrapper.finish();
+
+        assertThat(streamedBeforeFinish).isPositive();
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+        assertThat(gunzip(response.getContentAsByteArray()))
+                .isEqualTo(new String(chunk, StandardCharsets.UTF_8).repeat(2));
+    }
+
+    @Test
+    public void testThatDeclaredLengthIsDroppedForCompressedBodies() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CompressingResponseWrapper wrapper = new CompressingResponseWrapper(response, settings, "gzip");
+        wrapper.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        byte[] chunk = chunk();
+        wrapper.setContentLength(chunk.length);
+        wrapper.getOutputStream().write(chunk);
+        wrapper.finish();
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(new String(chunk, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testThatSmallBodiesAreWrittenAsIs() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CompressingResponseWrapper wrapper = new CompressingResponseWrapper(response, settings, "gzip");
+        wrapper.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        wrapper.setContentLength(5);
+        wrapper.getWriter().write("{\"a\"}");
+        wrapper.finish();
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentLength()).isEqualTo(5);
+        assertThat(response.getContentAsString()).isEqualTo("{\"a\"}");
+    }
+
+    @Test
+    public void testThatIncompressibleContentTypesAreWrittenAsIs() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CompressingResponseWrapper wrapper = new CompressingResponseWrapper(response, settings, "gzip");
+        wrapper.setContentType(MediaType.IMAGE_PNG_VALUE);
+        byte[] chunk = chunk();
+        wrapper.getOutputStream().write(chunk);
+        wrapper.finish();
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsByteArray()).isEqualTo(chunk);
+    }
+
+    private static byte[] chunk() {
+        return "{\"isbn\":\"978-1-2345-6789-0\",\"title\":\"The Shadow in the Attic\"},"
+                .repeat(MIN_RESPONSE_SIZE / 32)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.devlamq.database.compression;
+
+import com.devlamq.database.domain.dto.AuthorDto;
+import com.devlamq.database.domain.dto.BookDto;
+import com.devlamq.database.fixtures.CatalogGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.java.Log;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Log
+@Tag("performance")
+public class CompressionBenchmarkTests {
+
+    private static final int ITERATIONS = 50;
+
+    @ParameterizedTest
+    @CsvSource({
+            "IDENTITY, 0, 1000",
+            "GZIP, 1, 1000", "GZIP, 6, 1000", "GZIP, 9, 1000",
+            "ZSTD, 1, 1000", "ZSTD, 3, 1000", "ZSTD, 9, 1000",
+            "IDENTITY, 0, 10000",
+            "GZIP, 1, 10000", "GZIP, 6, 10000",
+            "ZSTD, 1, 10000", "ZSTD, 3, 10000"
+    })
+    public void compareBytesOnTheWireAndCpuPerRequest(ContentEncoding encoding, int level, int books) throws Exception {
+        byte[] body = new ObjectMapper().writeValueAsBytes(listResponse(books));
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        byte[] compressed = encoding.compress(body, level);
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            compressed = encoding.compress(body, level);
+        }
+        long cpuPerRequest = (threads.getCurrentThreadCpuTime() - cpuStart) / ITERATIONS;
+
+        log.info(String.format("%-8s level %d, %6d books: %9d -> %8d bytes (%5.1f%%), %8d us CPU per request",
+                encoding, level, books, body.length, compressed.length,
+                100.0 * compressed.length / body.length, cpuPerRequest / 1_000));
+        if (encoding == ContentEncoding.IDENTITY) {
+            assertThat(compressed).isSameAs(body);
+        } else {
+            assertThat(compressed.length).isLessThan(body.length / 3);
+            assertThat(cpuPerRequest).isPositive();
+        }
+    }
+
+    private List<BookDto> listResponse(int books) {
+        Random random = new Random(42L);
+        List<BookDto> response = new ArrayList<>(books);
+        for (int i = 0; i < books; i++) {
+            response.add(BookDto.builder()
+                    .isbn(CatalogGenerator.isbn(i))
+                    .title("Title " + random.nextInt(books))
+                    .author(AuthorDto.builder()
+                            .id((long) random.nextInt(books / 10 + 1))
+                            .name("Author " + random.nextInt(books / 10 + 1))
+                            .age(20 + random.nextInt(70))
+                            .build())
+                    .build());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,146 @@
+package com.devlamq.database.compression;
+
+import com.devlamq.database.TestDataUtil;
+import com.devlamq.database.cache.ResponseCache;
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.fixtures.CatalogGenerator;
+import com.devlamq.database.fixtures.DatabaseCleaner;
+import com.devlamq.database.services.AuthorService;
+import com.devlamq.database.services.BookService;
+import com.devlamq.database.services.CatalogDerivedState;
+import com.github.luben.zstd.ZstdInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "books.compression.enabled=true",
+        "books.compression.encodings=zstd,gzip",
+        "books.compression.min-response-size=2KB",
+        "books.response-cache.enabled=true"
+})
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc
+public class CompressionIntegrationTests {
+
+    private static final int BOOKS = 50;
+
+    private final MockMvc mockMvc;
+
+    private final AuthorService authorService;
+
+    private final BookService bookService;
+
+    private final ResponseCache responseCache;
+
+    private final DatabaseCleaner databaseCleaner;
+
+    @Autowired
+    public CompressionIntegrationTests(
+            MockMvc mockMvc,
+            AuthorService authorService,
+            BookService bookService,
+            ResponseCache responseCache,
+            JdbcTemplate jdbcTemplate,
+            List<CatalogDerivedState> derivedStates) {
+        this.mockMvc = mockMvc;
+        this.authorService = authorService;
+        this.bookService = bookService;
+        this.responseCache = responseCache;
+        this.databaseCleaner = new DatabaseCleaner(jdbcTemplate, derivedStates);
+    }
+
+    @BeforeEach
+    public void createCatalog() {
+        databaseCleaner.truncateCatalog();
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        for (int i = 0; i < BOOKS; i++) {
+            BookEntity book = TestDataUtil.createTestBookA(author);
+            book.setIsbn(CatalogGenerator.isbn(i));
+            bookService.createUpdateBook(book.getIsbn(), book);
+        }
+    }
+
+    @Test
+    public void testThatLargeResponsesUseTheBestAcceptedEncoding() throws Exception {
+        String identity = get("/books", null).getContentAsString();
+
+        MockHttpServletResponse zstd = get("/books", "gzip, deflate, zstd");
+        assertThat(zstd.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("zstd");
+        assertThat(zstd.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(decode(new ZstdInputStream(new ByteArrayInputStream(zstd.getContentAsByteArray())))).isEqualTo(identity);
+
+        MockHttpServletResponse gzip = get("/books", "zstd;q=0, gzip");
+        assertThat(gzip.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(decode(new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray())))).isEqualTo(identity);
+        assertThat(gzip.getContentLength()).isEqualTo(gzip.getContentAsByteArray().length).isLessThan(identity.length());
+    }
+
+    @Test
+    public void testThatUnacceptableOrMissingEncodingsFallBackToIdentity() throws Exception {
+        assertThat(get("/books", null).getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(get("/books", "br, deflate").getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(get("/books", "gzip;q=0, zstd;q=0").getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    public void testThatResponsesBelowTheMinimumSizeAreNotCompressed() throws Exception {
+        MockHttpServletResponse small = get("/books/" + CatalogGenerator.isbn(0), "zstd, gzip");
+
+        assertThat(small.getStatus()).isEqualTo(200);
+        assertThat(small.getContentAsByteArray().length).isLessThan(2048);
+        assertThat(small.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    public void testThatCacheHitsServeThePreCompressedBody() throws Exception {
+        MockHttpServletResponse miss = get("/books", "gzip");
+        MockHttpServletResponse firstHit = get("/books", "gzip");
+        byte[] storedGzip = responseCache.get("/books").getEncodedBodies().get(ContentEncoding.GZIP);
+        MockHttpServletResponse secondHit = get("/books", "gzip");
+
+        assertThat(miss.getHeader("X-Cache")).isEqualTo("MISS");
+        assertThat(firstHit.getHeader("X-Cache")).isEqualTo("HIT");
+        assertThat(secondHit.getHeader("X-Cache")).isEqualTo("HIT");
+        assertThat(secondHit.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(storedGzip).isNotNull();
+        assertThat(responseCache.get("/books").getEncodedBodies().get(ContentEncoding.GZIP)).isSameAs(storedGzip);
+        assertThat(secondHit.getContentAsByteArray()).isEqualTo(storedGzip);
+        assertThat(decode(new GZIPInputStream(new ByteArrayInputStream(secondHit.getContentAsByteArray()))))
+                .isEqualTo(decode(new GZIPInputStream(new ByteArrayInputStream(miss.getContentAsByteArray()))));
+    }
+
+    private MockHttpServletResponse get(String path, String acceptEncoding) throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(path);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private static String decode(InputStream compressed) throws IOException {
+        try (compressed) {
+            return new String(compressed.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.devlamq.database.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContentEncodingTests {
+
+    private static final Set<ContentEncoding> ENABLED = EnumSet.of(ContentEncoding.ZSTD, ContentEncoding.GZIP);
+
+    @Test
+    public void testThatHigherQValuesWin() {
+        assertThat(ContentEncoding.negotiate("zstd;q=0.5, gzip;q=0.8", ENABLED)).isEqualTo(ContentEncoding.GZIP);
+        assertThat(ContentEncoding.negotiate("gzip;q=0.2, zstd", ENABLED)).isEqualTo(ContentEncoding.ZSTD);
+    }
+
+    @Test
+    public void testThatEqualQValuesPreferZstd() {
+        assertThat(ContentEncoding.negotiate("gzip, zstd", ENABLED)).isEqualTo(ContentEncoding.ZSTD);
+        assertThat(ContentEncoding.negotiate("gzip", ENABLED)).isEqualTo(ContentEncoding.GZIP);
+    }
+
+    @Test
+    public void testThatWildcardCoversUnlistedEncodings() {
+        assertThat(ContentEncoding.negotiate("*", ENABLED)).isEqualTo(ContentEncoding.ZSTD);
+        assertThat(ContentEncoding.negotiate("zstd;q=0, *", ENABLED)).isEqualTo(ContentEncoding.GZIP);
+        assertThat(ContentEncoding.negotiate("*;q=0", ENABLED)).isEqualTo(ContentEncoding.IDENTITY);
+        assertThat(ContentEncoding.negotiate("*", EnumSet.of(ContentEncoding.GZIP))).isEqualTo(ContentEncoding.GZIP);
+    }
+
+    @Test
+    public void testThatPreferredIdentityIsHonored() {
+        assertThat(ContentEncoding.negotiate("identity, gzip;q=0.5", ENABLED)).isEqualTo(ContentEncoding.IDENTITY);
+        assertThat(ContentEncoding.negotiate("identity;q=0.5, gzip", ENABLED)).isEqualTo(ContentEncoding.GZIP);
+    }
+
+    @Test
+    public void testThatInvalidQValuesAreRejected() {
+        assertThat(ContentEncoding.negotiate("zstd;q=abc, gzip;q=0.1", ENABLED)).isEqualTo(ContentEncoding.GZIP);
+        assertThat(ContentEncoding.negotiate("br, deflate", ENABLED)).isEqualTo(ContentEncoding.IDENTITY);
+    }
+}
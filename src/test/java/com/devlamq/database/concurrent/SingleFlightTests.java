@@ -0,0 +1,173 @@
+package com.devlamq.database.concurrent;
+
+import com.devlamq.database.config.SingleFlightConfig;
+import com.devlamq.database.domain.entities.BookEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class SingleFlightTests {
+
+    private static final String ISBN = "978-1-2345-6789-0";
+
+    private final SingleFlightConfig config = new SingleFlightConfig();
+
+    @Test
+    public void testThatConcurrentCallersShareOneLoadButGetTheirOwnCopies() throws Exception {
+        SingleFlight<String, Optional<BookEntity>> lookups = config.bookLookups();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Optional<BookEntity>> results = loadConcurrently(lookups, executor, 8);
+
+            assertThat(lookups.getExecutions()).isEqualTo(1);
+            assertThat(lookups.getCoalesced()).isEqualTo(7);
+            assertThat(results).allSatisfy(book -> assertThat(book).contains(book(ISBN)));
+            assertThat(results.stream().map(Optional::get).distinct().count()).isEqualTo(1);
+            assertThat(results.stream().map(book -> System.identityHashCode(book.get())).distinct().count())
+                    .isEqualTo(8);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testThatCallersAfterInvalidateDoNotJoinAnEarlierLoad() throws Exception {
+        SingleFlight<String, Optional<BookEntity>> lookups = config.bookLookups();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Optional<BookEntity>> stale = executor.submit(() -> lookups.execute(ISBN, () -> {
+                started.countDown();
+                await(release);
+                return Optional.of(book("stale"));
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            lookups.invalidate(ISBN);
+            Optional<BookEntity> fresh = lookups.execute(ISBN, () -> Optional.of(book("fresh")));
+            release.countDown();
+
+            assertThat(fresh.get().getTitle()).isEqualTo("fresh");
+            assertThat(stale.get(5, TimeUnit.SECONDS).get().getTitle()).isEqualTo("stale");
+            assertThat(lookups.getExecutions()).isEqualTo(2);
+            assertThat(lookups.getCoalesced()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testThatFailuresAreRethrownToEveryWaiter() throws Exception {
+        SingleFlight<String, Optional<BookEntity>> lookups = config.bookLookups();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> leader = executor.submit(() -> lookups.execute(ISBN, () -> {
+                while (lookups.getCoalesced() == 0) {
+                    Thread.onSpinWait();
+                }
+                throw new IllegalStateException("lookup failed");
+            }));
+            while (lookups.getExecutions() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<?> waiter = executor.submit(() -> lookups.execute(ISBN, () -> Optional.of(book(ISBN))));
+
+            assertThat(leader).failsWithin(5, TimeUnit.SECONDS);
+            assertThat(waiter).failsWithin(5, TimeUnit.SECONDS);
+            assertThat(lookups.getExecutions()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testThatLookupCountsArePublishedAsMetrics() throws Exception {
+        SingleFlight<String, Optional<BookEntity>> bookLookups = config.bookLookups();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        config.singleFlightMetrics(bookLookups, config.authorLookups()).bindTo(registry);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            loadConcurrently(bookLookups, executor, 4);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(registry.get("books.lookups.executed").tag("entity", "book").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("books.lookups.coalesced").tag("entity", "book").functionCounter().count())
+                .isEqualTo(3);
+        assertThat(registry.get("books.lookups.executed").tag("entity", "author").functionCounter().count())
+                .isZero();
+    }
+
+    @Test
+    public void testThatVirtualThreadsCoalesceWithoutPinning() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+        SingleFlight<String, Optional<BookEntity>> lookups = config.bookLookups();
+        ExecutorService executor = (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+        try {
+            List<Optional<BookEntity>> results = loadConcurrently(lookups, executor, 1_000);
+
+            assertThat(results).hasSize(1_000).allSatisfy(book -> assertThat(book).isPresent());
+            assertThat(lookups.getExecutions() + lookups.getCoalesced()).isEqualTo(1_000);
+            assertThat(lookups.getExecutions()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Optional<BookEntity>> loadConcurrently(
+            SingleFlight<String, Optional<BookEntity>> lookups,
+            ExecutorService executor,
+            int callers) throws Exception {
+        AtomicInteger arrived = new AtomicInteger();
+        CountDownLatch allArrived = new CountDownLatch(1);
+        List<Future<Optional<BookEntity>>> futures = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            futures.add(executor.submit(() -> {
+                if (arrived.incrementAndGet() == callers) {
+                    allArrived.countDown();
+                }
+                return lookups.execute(ISBN, () -> {
+                    await(allArrived);
+                    while (lookups.getCoalesced() < callers - 1) {
+                        Thread.onSpinWait();
+                    }
+                    return Optional.of(book(ISBN));
+                });
+            }));
+        }
+        List<Optional<BookEntity>> results = new ArrayList<>();
+        for (Future<Optional<BookEntity>> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private static BookEntity book(String title) {
+        return BookEntity.builder().isbn(ISBN).title(title).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,24 +3,28 @@ package com.devlamq.database.controllers;
 import com.devlamq.database.TestDataUtil;
 import com.devlamq.database.domain.dto.AuthorDto;
 import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.fixtures.DatabaseCleaner;
 import com.devlamq.database.services.AuthorService;
+import com.devlamq.database.services.CatalogDerivedState;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
-import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.List;
+
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
-@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @AutoConfigureMockMvc
 public class AuthorControllerIntegrationTests {
 
@@ -30,11 +34,19 @@ public class AuthorControllerIntegrationTests {
 
     private final ObjectMapper objectMapper;
 
+    private final DatabaseCleaner databaseCleaner;
+
     @Autowired
-    public AuthorControllerIntegrationTests(MockMvc mockMvc, AuthorService authorService) {
+    public AuthorControllerIntegrationTests(MockMvc mockMvc, AuthorService authorService, JdbcTemplate jdbcTemplate, List<CatalogDerivedState> derivedStates) {
         this.mockMvc = mockMvc;
         this.authorService = authorService;
         this.objectMapper = new ObjectMapper();
+        this.databaseCleaner = new DatabaseCleaner(jdbcTemplate, derivedStates);
+    }
+
+    @BeforeEach
+    public void resetDatabase() {
+        databaseCleaner.truncateCatalog();
     }
 
     @Test
@@ -98,8 +110,7 @@ public class AuthorControllerIntegrationTests {
 
     @Test
     public void testThatGetAuthorReturnsAuthorWhenAuthorExists() throws Exception {
-        AuthorEntity testAuthorEntityA = TestDataUtil.createTestAuthorA();
-        authorService.save(testAuthorEntityA);
+        AuthorEntity testAuthorEntityA = authorService.save(TestDataUtil.createTestAuthorA());
         mockMvc.perform(
                 MockMvcRequestBuilders.get("/authors/" + testAuthorEntityA.getId())
                         .contentType(MediaType.APPLICATION_JSON)
@@ -114,8 +125,7 @@ public class AuthorControllerIntegrationTests {
 
     @Test
     public void testThatGetAuthorReturnsHttpStatus200WhenAuthorExists() throws Exception {
-        AuthorEntity testAuthorEntityA = TestDataUtil.createTestAuthorA();
-        authorService.save(testAuthorEntityA);
+        AuthorEntity testAuthorEntityA = authorService.save(TestDataUtil.createTestAuthorA());
         mockMvc.perform(
                 MockMvcRequestBuilders.get("/authors/" + testAuthorEntityA.getId())
                         .contentType(MediaType.APPLICATION_JSON)
@@ -0,0 +1,126 @@
+package com.devlamq.database.controllers;
+
+import com.devlamq.database.TestDataUtil;
+import com.devlamq.database.domain.dto.AuthorDto;
+import com.devlamq.database.domain.dto.BookDto;
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.fixtures.DatabaseCleaner;
+import com.devlamq.database.services.AuthorService;
+import com.devlamq.database.services.CatalogDerivedState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc
+public class AuthorSoftDeleteIntegrationTests {
+
+    private final MockMvc mockMvc;
+
+    private final AuthorService authorService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final DatabaseCleaner databaseCleaner;
+
+    @Autowired
+    public AuthorSoftDeleteIntegrationTests(MockMvc mockMvc, AuthorService authorService, JdbcTemplate jdbcTemplate, List<CatalogDerivedState> derivedStates) {
+        this.mockMvc = mockMvc;
+        this.authorService = authorService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = new ObjectMapper();
+        this.databaseCleaner = new DatabaseCleaner(jdbcTemplate, derivedStates);
+    }
+
+    @BeforeEach
+    public void resetDatabase() {
+        databaseCleaner.truncateCatalog();
+    }
+
+    @Test
+    public void testThatDeleteHidesAuthorAndBooksImmediately() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        BookDto book = TestDataUtil.createTestBookDtoA(authorDto(author));
+        putBook(book);
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/authors/" + author.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors/" + author.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/" + book.getIsbn()))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0));
+        mockMvc.perform(MockMvcRequestBuilders.get("/books"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatPutBookDoesNotResurrectDeletedAuthor() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        BookDto book = TestDataUtil.createTestBookDtoA(authorDto(author));
+        putBook(book);
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/authors/" + author.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+        putBook(book);
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM authors WHERE id = ? AND deleted_at IS NOT NULL", Integer.class, author.getId()))
+                .isEqualTo(1);
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors/" + author.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void testThatPatchOfHiddenBookReturnsHttpStatus404() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        BookDto book = TestDataUtil.createTestBookDtoA(authorDto(author));
+        putBook(book);
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/authors/" + author.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        book.setTitle("Renamed");
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(book))
+        ).andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    private void putBook(BookDto book) throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(book))
+        ).andExpect(MockMvcResultMatchers.status().is2xxSuccessful());
+    }
+
+    private static AuthorDto authorDto(AuthorEntity author) {
+        return AuthorDto.builder()
+                .id(author.getId())
+                .name(author.getName())
+                .age(author.getAge())
+                .build();
+    }
+}
@@ -3,23 +3,27 @@ package com.devlamq.database.controllers;
 import com.devlamq.database.TestDataUtil;
 import com.devlamq.database.domain.dto.BookDto;
 import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.fixtures.DatabaseCleaner;
 import com.devlamq.database.services.BookService;
+import com.devlamq.database.services.CatalogDerivedState;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
-import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.List;
+
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
-@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @AutoConfigureMockMvc
 public class BookControllerIntegrationTests {
 
@@ -29,11 +33,19 @@ public class BookControllerIntegrationTests {
 
     private final ObjectMapper objectMapper;
 
+    private final DatabaseCleaner databaseCleaner;
+
     @Autowired
-    public BookControllerIntegrationTests(MockMvc mockMvc, BookService bookService) {
+    public BookControllerIntegrationTests(MockMvc mockMvc, BookService bookService, JdbcTemplate jdbcTemplate, List<CatalogDerivedState> derivedStates) {
         this.mockMvc = mockMvc;
         this.bookService = bookService;
         this.objectMapper = new ObjectMapper();
+        this.databaseCleaner = new DatabaseCleaner(jdbcTemplate, derivedStates);
+    }
+
+    @BeforeEach
+    public void resetDatabase() {
+        databaseCleaner.truncateCatalog();
     }
 
     @Test
@@ -88,6 +100,26 @@ public class BookControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatListBooksClampsNonPositiveLimit() throws Exception {
+        BookEntity bookA = TestDataUtil.createTestBookA(null);
+        BookEntity bookB = TestDataUtil.createTestBookB(null);
+        bookService.createUpdateBook(bookA.getIsbn(), bookA);
+        bookService.createUpdateBook(bookB.getIsbn(), bookB);
+
+        for (String limit : new String[]{"0", "-5"}) {
+            mockMvc.perform(
+                    MockMvcRequestBuilders.get("/books")
+                            .param("limit", limit)
+                            .contentType(MediaType.APPLICATION_JSON)
+            ).andExpect(
+                    MockMvcResultMatchers.status().isOk()
+            ).andExpect(
+                    MockMvcResultMatchers.jsonPath("$.length()").value(1)
+            );
+        }
+    }
+
     @Test
     public void testThatGetBookReturnsHttpStatus200OkWhenBookExists() throws Exception {
 
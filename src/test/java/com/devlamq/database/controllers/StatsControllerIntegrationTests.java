@@ -0,0 +1,176 @@
+package com.devlamq.database.controllers;
+
+import com.devlamq.database.TestDataUtil;
+import com.devlamq.database.domain.dto.AuthorDto;
+import com.devlamq.database.domain.dto.BookDto;
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.fixtures.DatabaseCleaner;
+import com.devlamq.database.services.AuthorService;
+import com.devlamq.database.services.BookService;
+import com.devlamq.database.services.CatalogDerivedState;
+import com.devlamq.database.services.StatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc
+public class StatsControllerIntegrationTests {
+
+    private final MockMvc mockMvc;
+
+    private final AuthorService authorService;
+
+    private final BookService bookService;
+
+    private final StatsService statsService;
+
+    private final ObjectMapper objectMapper;
+
+    private final DatabaseCleaner databaseCleaner;
+
+    @Autowired
+    public StatsControllerIntegrationTests(
+            MockMvc mockMvc,
+            AuthorService authorService,
+            BookService bookService,
+            StatsService statsService,
+            JdbcTemplate jdbcTemplate,
+            List<CatalogDerivedState> derivedStates) {
+        this.mockMvc = mockMvc;
+        this.authorService = authorService;
+        this.bookService = bookService;
+        this.statsService = statsService;
+        this.objectMapper = new ObjectMapper();
+        this.databaseCleaner = new DatabaseCleaner(jdbcTemplate, derivedStates);
+    }
+
+    @BeforeEach
+    public void resetDatabase() {
+        databaseCleaner.truncateCatalog();
+    }
+
+    @Test
+    public void testThatStatsCountBooksCreatedAndDeleted() throws Exception {
+        AuthorEntity authorA = authorService.save(TestDataUtil.createTestAuthorA());
+        AuthorEntity authorB = authorService.save(TestDataUtil.createTestAuthorB());
+        BookEntity bookA = TestDataUtil.createTestBookA(authorA);
+        BookEntity bookB = TestDataUtil.createTestBookB(authorB);
+        bookService.createUpdateBook(bookA.getIsbn(), bookA);
+        bookService.createUpdateBook(bookB.getIsbn(), bookB);
+        bookService.delete(bookA.getIsbn());
+        statsService.refreshTopAuthors();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/stats")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalBooks").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.topAuthors.length()").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.topAuthors[0].authorId").value(authorB.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.topAuthors[0].name").value(authorB.getName())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.topAuthors[0].bookCount").value(1)
+        );
+        assertThat(statsService.authorStats(authorA.getId()).getBookCount()).isZero();
+    }
+
+    @Test
+    public void testThatDeletedAuthorsAreLeftOutOfTopAuthors() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        BookEntity book = TestDataUtil.createTestBookA(author);
+        bookService.createUpdateBook(book.getIsbn(), book);
+        authorService.delete(author.getId());
+        statsService.refreshTopAuthors();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/stats")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.topAuthors").isEmpty()
+        );
+    }
+
+    @Test
+    public void testThatAuthorStatsReturnsBookCountForExistingAuthor() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        BookEntity book = TestDataUtil.createTestBookA(author);
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + author.getId() + "/stats")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.bookCount").value(1)
+        );
+    }
+
+    @Test
+    public void testThatMovingBookToAnotherAuthorUpdatesBothCounts() throws Exception {
+        AuthorEntity authorA = authorService.save(TestDataUtil.createTestAuthorA());
+        AuthorEntity authorB = authorService.save(TestDataUtil.createTestAuthorB());
+        BookDto book = TestDataUtil.createTestBookDtoA(authorDto(authorA));
+        putBook(book);
+
+        book.setAuthor(authorDto(authorB));
+        putBook(book);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + authorA.getId() + "/stats")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.bookCount").value(0)
+        );
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + authorB.getId() + "/stats")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.bookCount").value(1)
+        );
+    }
+
+    @Test
+    public void testThatAuthorStatsReturnsHttpStatus404WhenNoAuthorExists() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/100/stats")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    private void putBook(BookDto book) throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(book))
+        ).andExpect(MockMvcResultMatchers.status().is2xxSuccessful());
+    }
+
+    private static AuthorDto authorDto(AuthorEntity author) {
+        return AuthorDto.builder()
+                .id(author.getId())
+                .name(author.getName())
+                .age(author.getAge())
+                .build();
+    }
+}
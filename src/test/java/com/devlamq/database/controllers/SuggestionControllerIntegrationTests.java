@@ -0,0 +1,262 @@
+package com.devlamq.database.controllers;
+
+import com.devlamq.database.TestDataUtil;
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.fixtures.DatabaseCleaner;
+import com.devlamq.database.services.AuthorService;
+import com.devlamq.database.services.BookService;
+import com.devlamq.database.services.CatalogDerivedState;
+import com.devlamq.database.services.cleanup.AuthorReaper;
+import com.devlamq.database.suggest.BookSuggestions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+@SpringBootTest(properties = {
+        "books.suggest.enabled=true",
+        "books.reaper.grace-period=PT0S",
+        "books.reaper.interval=PT1H"
+})
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc
+public class SuggestionControllerIntegrationTests {
+
+    private final MockMvc mockMvc;
+
+    private final AuthorService authorService;
+
+    private final BookService bookService;
+
+    private final BookSuggestions bookSuggestions;
+
+    private final AuthorReaper authorReaper;
+
+    private final DatabaseCleaner databaseCleaner;
+
+    @Autowired
+    public SuggestionControllerIntegrationTests(
+            MockMvc mockMvc,
+            AuthorService authorService,
+            BookService bookService,
+            BookSuggestions bookSuggestions,
+            AuthorReaper authorReaper,
+            JdbcTemplate jdbcTemplate,
+            List<CatalogDerivedState> derivedStates) {
+        this.mockMvc = mockMvc;
+        this.authorService = authorService;
+        this.bookService = bookService;
+        this.bookSuggestions = bookSuggestions;
+        this.authorReaper = authorReaper;
+        this.databaseCleaner = new DatabaseCleaner(jdbcTemplate, derivedStates);
+    }
+
+    @BeforeEach
+    public void resetDatabase() {
+        databaseCleaner.truncateCatalog();
+        bookSuggestions.rebuild();
+    }
+
+    @Test
+    public void testThatSuggestMatchesTitlePrefixIgnoringCase() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        saveBook(TestDataUtil.createTestBookA(author));
+        saveBook(TestDataUtil.createTestBookB(author));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/suggest")
+                        .param("prefix", "the sha")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].isbn").value("978-1-2345-6789-0")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].title").value("The Shadow in the Attic")
+        );
+    }
+
+    @Test
+    public void testThatSuggestMatchesIsbnDigitsWithoutHyphens() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        saveBook(TestDataUtil.createTestBookA(author));
+        saveBook(TestDataUtil.createTestBookB(author));
+        bookSuggestions.rebuild();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/suggest")
+                        .param("prefix", "97812345678")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(2)
+        );
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/suggest")
+                        .param("prefix", "978-1-2345-6789-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].title").value("Beyond the Horizon")
+        );
+    }
+
+    @Test
+    public void testThatSuggestRanksBooksByReadsAcrossRebuilds() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        saveBook(TestDataUtil.createTestBookA(author));
+        BookEntity lastEmber = saveBook(TestDataUtil.createTestBookC(author));
+        bookSuggestions.rebuild();
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.get("/books/" + lastEmber.getIsbn()))
+                    .andExpect(MockMvcResultMatchers.status().isOk());
+        }
+        bookSuggestions.rebuild();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/suggest")
+                        .param("prefix", "the")
+                        .param("limit", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].isbn").value(lastEmber.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].reads").value(3)
+        );
+    }
+
+    @Test
+    public void testThatReadsOfBooksCreatedSinceLastRebuildSurviveTheRebuild() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        saveBook(TestDataUtil.createTestBookA(author));
+        bookSuggestions.rebuild();
+        BookEntity lastEmber = saveBook(TestDataUtil.createTestBookC(author));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.get("/books/" + lastEmber.getIsbn()))
+                    .andExpect(MockMvcResultMatchers.status().isOk());
+        }
+        bookSuggestions.rebuild();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/suggest")
+                        .param("prefix", "the")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].isbn").value(lastEmber.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].reads").value(2)
+        );
+    }
+
+    @Test
+    public void testThatSameTitleWithPrefixIsbnsBuildsAndSuggestsBoth() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        BookEntity shortIsbn = TestDataUtil.createTestBookA(author);
+        shortIsbn.setIsbn("978-1");
+        saveBook(shortIsbn);
+        BookEntity longIsbn = TestDataUtil.createTestBookA(author);
+        longIsbn.setIsbn("978-12");
+        saveBook(longIsbn);
+        bookSuggestions.rebuild();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/suggest")
+                        .param("prefix", "the shadow")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].isbn").value("978-1")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].isbn").value("978-12")
+        );
+    }
+
+    @Test
+    public void testThatSuggestReflectsUpdatesAndDeletesBeforeRebuild() throws Exception {
+        AuthorEntity authorA = authorService.save(TestDataUtil.createTestAuthorA());
+        AuthorEntity authorB = authorService.save(TestDataUtil.createTestAuthorB());
+        BookEntity book = saveBook(TestDataUtil.createTestBookA(authorA));
+        BookEntity deleted = saveBook(TestDataUtil.createTestBookB(authorB));
+        bookSuggestions.rebuild();
+
+        book.setTitle("Beneath the Attic");
+        bookService.partialUpdate(book.getIsbn(), book);
+        bookService.delete(deleted.getIsbn());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/suggest")
+                        .param("prefix", "be")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].title").value("Beneath the Attic")
+        );
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/suggest")
+                        .param("prefix", "the shadow")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(0)
+        );
+    }
+
+    @Test
+    public void testThatSuggestHidesBooksOfDeletedAuthorsBeforeRebuild() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        saveBook(TestDataUtil.createTestBookA(author));
+        bookSuggestions.rebuild();
+        saveBook(TestDataUtil.createTestBookC(author));
+
+        authorService.delete(author.getId());
+
+        assertNoSuggestions("the");
+    }
+
+    @Test
+    public void testThatSuggestHidesReapedBooksBeforeRebuild() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        saveBook(TestDataUtil.createTestBookA(author));
+        bookSuggestions.rebuild();
+        saveBook(TestDataUtil.createTestBookC(author));
+
+        authorService.delete(author.getId());
+        authorReaper.reap();
+
+        assertNoSuggestions("the");
+    }
+
+    private void assertNoSuggestions(String prefix) throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/suggest")
+                        .param("prefix", prefix)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(0)
+        );
+    }
+
+    private BookEntity saveBook(BookEntity book) {
+        return bookService.createUpdateBook(book.getIsbn(), book);
+    }
+}
@@ -0,0 +1,119 @@
+package com.devlamq.database.fixtures;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public final class CatalogGenerator {
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private static final String[] FIRST_NAMES = {
+            "Abigail", "Thomas", "Jesse", "Maria", "Hiroshi", "Amara", "Liam", "Sofia", "Mateo", "Priya",
+            "Olu", "Ingrid", "Chen", "Fatima", "Lucas", "Nadia", "Kofi", "Elena", "Rafael", "Yuki"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Rose", "Cronin", "Casey", "Okafor", "Tanaka", "Silva", "Novak", "Haddad", "Larsen", "Moreau",
+            "Kowalski", "Nguyen", "Mensah", "Garcia", "Petrov", "Iyer", "Schmidt", "Duarte", "Ahmed", "Walsh"
+    };
+
+    private static final String[] TITLE_WORDS = {
+            "the", "shadow", "in", "attic", "beyond", "horizon", "last", "ember", "of", "river",
+            "silent", "garden", "winter", "letters", "from", "a", "forgotten", "city", "glass", "ocean",
+            "night", "house", "on", "hill", "secret", "history", "light", "under", "stone", "memory"
+    };
+
+    private final long seed;
+
+    private final int authorCount;
+
+    private final int bookCount;
+
+    private final double zipfExponent;
+
+    private CatalogGenerator(long seed, int authorCount, int bookCount, double zipfExponent) {
+        this.seed = seed;
+        this.authorCount = authorCount;
+        this.bookCount = bookCount;
+        this.zipfExponent = zipfExponent;
+    }
+
+    public static CatalogGenerator of(long seed, int authorCount, int bookCount) {
+        return new CatalogGenerator(seed, authorCount, bookCount, 1.0);
+    }
+
+    public CatalogGenerator withZipfExponent(double exponent) {
+        return new CatalogGenerator(seed, authorCount, bookCount, exponent);
+    }
+
+    public long populate(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(seed);
+        long firstAuthorId = jdbcTemplate.queryForObject(DatabaseCleaner.isH2(jdbcTemplate)
+                ? "SELECT NEXT VALUE FOR author_id_seq"
+                : "SELECT nextval('author_id_seq')", Long.class);
+        insertAuthors(jdbcTemplate, random, firstAuthorId);
+        insertBooks(jdbcTemplate, random, firstAuthorId);
+        jdbcTemplate.execute("ALTER SEQUENCE author_id_seq RESTART WITH " + (firstAuthorId + authorCount + 50));
+        return firstAuthorId;
+    }
+
+    public static String isbn(long index) {
+        String digits = String.format("978%09d", index);
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        int check = (10 - sum % 10) % 10;
+        return digits.substring(0, 3) + "-" + digits.charAt(3) + "-" + digits.substring(4, 8)
+                + "-" + digits.substring(8, 12) + "-" + check;
+    }
+
+    private void insertAuthors(JdbcTemplate jdbcTemplate, Random random, long firstAuthorId) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long id = firstAuthorId; id < firstAuthorId + authorCount; id++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            batch.add(new Object[]{id, name, 20 + random.nextInt(70)});
+            if (batch.size() == BATCH_SIZE) {
+                flush(jdbcTemplate, "INSERT INTO authors (id, name, age) VALUES (?, ?, ?)", batch);
+            }
+        }
+        flush(jdbcTemplate, "INSERT INTO authors (id, name, age) VALUES (?, ?, ?)", batch);
+    }
+
+    private void insertBooks(JdbcTemplate jdbcTemplate, Random random, long firstAuthorId) {
+        ZipfDistribution authorPopularity = new ZipfDistribution(authorCount, zipfExponent);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long index = 0; index < bookCount; index++) {
+            long authorId = firstAuthorId + authorPopularity.sample(random);
+            batch.add(new Object[]{isbn(index), title(random), authorId});
+            if (batch.size() == BATCH_SIZE) {
+                flush(jdbcTemplate, "INSERT INTO books (isbn, title, author_id) VALUES (?, ?, ?)", batch);
+            }
+        }
+        flush(jdbcTemplate, "INSERT INTO books (isbn, title, author_id) VALUES (?, ?, ?)", batch);
+    }
+
+    private String title(Random random) {
+        int words = 1 + (int) Math.min(11, Math.abs(random.nextGaussian() * 3));
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            String word = TITLE_WORDS[random.nextInt(TITLE_WORDS.length)];
+            if (i > 0) {
+                title.append(' ');
+            }
+            title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        return title.toString();
+    }
+
+    private void flush(JdbcTemplate jdbcTemplate, String sql, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            batch.clear();
+        }
+    }
+}
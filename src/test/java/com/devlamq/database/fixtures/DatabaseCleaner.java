@@ -0,0 +1,43 @@
+package com.devlamq.database.fixtures;
+
+import com.devlamq.database.services.CatalogDerivedState;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+public final class DatabaseCleaner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final List<CatalogDerivedState> derivedStates;
+
+    private final boolean h2;
+
+    public DatabaseCleaner(JdbcTemplate jdbcTemplate, List<CatalogDerivedState> derivedStates) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.derivedStates = derivedStates;
+        this.h2 = isH2(jdbcTemplate);
+    }
+
+    public static boolean isH2(JdbcTemplate jdbcTemplate) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute(
+                (ConnectionCallback<Boolean>) connection -> connection.getMetaData().getDatabaseProductName().equals("H2")));
+    }
+
+    public void truncateCatalog() {
+        if (h2) {
+            jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            jdbcTemplate.execute("TRUNCATE TABLE books");
+            jdbcTemplate.execute("TRUNCATE TABLE authors");
+            jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        } else {
+            jdbcTemplate.execute("TRUNCATE TABLE books, authors");
+        }
+        resetDerivedState();
+    }
+
+    public void resetDerivedState() {
+        derivedStates.forEach(CatalogDerivedState::reset);
+    }
+}
@@ -0,0 +1,111 @@
+package com.devlamq.database.idempotency;
+
+import com.devlamq.database.ratelimit.RateLimitFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdempotencyFilterTests {
+
+    private final IdempotencyStore store = new IdempotencyStore(100, Duration.ofHours(1), Clock.systemUTC());
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private final FilterChain createAuthor = (request, response) -> {
+        executions.incrementAndGet();
+        ((HttpServletResponse) response).setStatus(HttpStatus.CREATED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(request.getInputStream().readAllBytes());
+    };
+
+    @Test
+    public void testThatTrustedClientIdsGetTheirOwnKeyScope() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(store, Duration.ofSeconds(1), true);
+
+        MockHttpServletResponse first = post(filter, "client-a", "{\"name\":\"a\"}", createAuthor);
+        MockHttpServletResponse second = post(filter, "client-b", "{\"name\":\"b\"}", createAuthor);
+        MockHttpServletResponse retry = post(filter, "client-a", "{\"name\":\"a\"}", createAuthor);
+
+        assertThat(first.getStatus()).isEqualTo(HttpStatus.CREATED.value());
+        assertThat(second.getStatus()).isEqualTo(HttpStatus.CREATED.value());
+        assertThat(second.getContentAsString()).isEqualTo("{\"name\":\"b\"}");
+        assertThat(retry.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+        assertThat(retry.getContentAsString()).isEqualTo("{\"name\":\"a\"}");
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    public void testThatClientIdIsIgnoredUnlessTrusted() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(store, Duration.ofSeconds(1), false);
+
+        post(filter, "client-a", "{\"name\":\"a\"}", createAuthor);
+        MockHttpServletResponse second = post(filter, "client-b", "{\"name\":\"b\"}", createAuthor);
+
+        assertThat(second.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY.value());
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    public void testThatBufferedBodyIsDeliveredToReadListeners() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(store, Duration.ofSeconds(1), false);
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+
+        post(filter, null, "{\"name\":\"a\"}", (request, response) -> {
+            ServletInputStream input = request.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (input.isReady() && !input.isFinished()) {
+                        read.write(input.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+            });
+        });
+
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo("{\"name\":\"a\"}");
+        assertThat(allDataRead).isTrue();
+    }
+
+    private static MockHttpServletResponse post(
+            IdempotencyFilter filter,
+            String clientId,
+            String body,
+            FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/authors");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "shared-key");
+        if (clientId != null) {
+            request.addHeader(RateLimitFilter.CLIENT_ID_HEADER, clientId);
+        }
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,164 @@
+package com.devlamq.database.idempotency;
+
+import com.devlamq.database.TestDataUtil;
+import com.devlamq.database.domain.dto.AuthorDto;
+import com.devlamq.database.fixtures.DatabaseCleaner;
+import com.devlamq.database.services.AuthorService;
+import com.devlamq.database.services.CatalogDerivedState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "books.idempotency.enabled=true")
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc
+public class IdempotencyIntegrationTests {
+
+    private final MockMvc mockMvc;
+
+    private final AuthorService authorService;
+
+    private final ObjectMapper objectMapper;
+
+    private final DatabaseCleaner databaseCleaner;
+
+    @Autowired
+    public IdempotencyIntegrationTests(MockMvc mockMvc, AuthorService authorService, JdbcTemplate jdbcTemplate, List<CatalogDerivedState> derivedStates) {
+        this.mockMvc = mockMvc;
+        this.authorService = authorService;
+        this.objectMapper = new ObjectMapper();
+        this.databaseCleaner = new DatabaseCleaner(jdbcTemplate, derivedStates);
+    }
+
+    @BeforeEach
+    public void resetDatabase() {
+        databaseCleaner.truncateCatalog();
+    }
+
+    @Test
+    public void testThatRetriedCreateAuthorIsReplayedWithoutCreatingDuplicate() throws Exception {
+        String authorJson = objectMapper.writeValueAsString(newAuthor());
+
+        String first = createAuthor("retry-key", authorJson).getContentAsString();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/authors")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, "retry-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(authorJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isCreated()
+        ).andExpect(
+                MockMvcResultMatchers.header().string(IdempotencyFilter.IDEMPOTENT_REPLAYED, "true")
+        ).andExpect(
+                MockMvcResultMatchers.content().json(first)
+        );
+
+        assertThat(authorService.findAll()).hasSize(1);
+    }
+
+    @Test
+    public void testThatReusedKeyWithDifferentBodyReturnsHttp422() throws Exception {
+        createAuthor("reused-key", objectMapper.writeValueAsString(newAuthor()));
+
+        AuthorDto otherAuthor = newAuthor();
+        otherAuthor.setName("Someone Else");
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/authors")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(otherAuthor))
+        ).andExpect(MockMvcResultMatchers.status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void testThatKeysAreScopedToClientMethodAndPath() throws Exception {
+        String authorJson = objectMapper.writeValueAsString(newAuthor());
+        String first = createAuthor("scoped-key", authorJson).getContentAsString();
+
+        String otherClient = mockMvc.perform(
+                MockMvcRequestBuilders.post("/authors")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, "scoped-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(authorJson)
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.2");
+                            return request;
+                        })
+        ).andExpect(
+                MockMvcResultMatchers.status().isCreated()
+        ).andExpect(
+                MockMvcResultMatchers.header().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED)
+        ).andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/978-1-2345-6789-0")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, "scoped-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TestDataUtil.createTestBookDtoA(newAuthor())))
+        ).andExpect(
+                MockMvcResultMatchers.status().isCreated()
+        ).andExpect(
+                MockMvcResultMatchers.header().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED)
+        );
+
+        assertThat(otherClient).isNotEqualTo(first);
+        assertThat(authorService.findAll()).hasSize(3);
+    }
+
+    @Test
+    public void testThatConcurrentDuplicatesCreateOneAuthor() throws Exception {
+        String authorJson = objectMapper.writeValueAsString(newAuthor());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<String>> requests = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                requests.add(() -> createAuthor("concurrent-key", authorJson).getContentAsString());
+            }
+            List<String> bodies = new ArrayList<>();
+            for (Future<String> body : executor.invokeAll(requests)) {
+                bodies.add(body.get());
+            }
+
+            assertThat(bodies).allMatch(body -> body.equals(bodies.get(0)));
+            assertThat(authorService.findAll()).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private AuthorDto newAuthor() {
+        AuthorDto author = TestDataUtil.createTestAuthorDtoA();
+        author.setId(null);
+        return author;
+    }
+
+    private MockHttpServletResponse createAuthor(String key, String authorJson) throws Exception {
+        return mockMvc.perform(
+                MockMvcRequestBuilders.post("/authors")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(authorJson)
+        ).andExpect(MockMvcResultMatchers.status().isCreated()).andReturn().getResponse();
+    }
+}
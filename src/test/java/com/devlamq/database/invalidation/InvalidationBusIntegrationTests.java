@@ -0,0 +1,94 @@
+package com.devlamq.database.invalidation;
+
+import com.devlamq.database.BooksAPIApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvalidationBusIntegrationTests {
+
+    private static final Duration MAX_STALENESS = Duration.ofMillis(500);
+
+    private static final Duration VISIBILITY_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private ConfigurableApplicationContext nodeA;
+
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    public void startNodes() {
+        String run = UUID.randomUUID().toString().replace("-", "");
+        nodeA = startNode(run);
+        nodeB = startNode(run);
+    }
+
+    @AfterEach
+    public void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    public void testThatWriteOnNodeAEventuallyBecomesVisibleOnNodeB() throws Exception {
+        String isbn = "978-1-2345-6789-0";
+        assertThat(get(nodeB, "/books/" + isbn).statusCode()).isEqualTo(404);
+        assertThat(get(nodeB, "/books").body()).isEqualTo("[]");
+        assertThat(get(nodeB, "/books").headers().firstValue("X-Cache")).hasValue("HIT");
+
+        HttpResponse<String> created = httpClient.send(HttpRequest.newBuilder(uri(nodeA, "/books/" + isbn))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(
+                                "{\"title\":\"The Shadow in the Attic\",\"author\":{\"name\":\"Abigail Rose\",\"age\":80}}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        long writtenAt = System.nanoTime();
+        assertThat(created.statusCode()).isEqualTo(201);
+
+        boolean visible = false;
+        while (!visible && System.nanoTime() - writtenAt < VISIBILITY_TIMEOUT.toNanos()) {
+            visible = get(nodeB, "/books/" + isbn).statusCode() == 200 && get(nodeB, "/books").body().contains(isbn);
+            if (!visible) {
+                Thread.sleep(50);
+            }
+        }
+
+        assertThat(visible).isTrue();
+        assertThat(nodeB.getBean(InvalidationBus.class).getReceivedMessages()).isPositive();
+    }
+
+    private ConfigurableApplicationContext startNode(String run) {
+        return new SpringApplicationBuilder(BooksAPIApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:invalidation" + run + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--books.response-cache.enabled=true",
+                        "--books.invalidation.enabled=true",
+                        "--books.invalidation.transport=in-process",
+                        "--books.invalidation.channel=books_" + run,
+                        "--books.invalidation.max-staleness=" + MAX_STALENESS);
+    }
+
+    private HttpResponse<String> get(ConfigurableApplicationContext node, String path) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(uri(node, path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(ConfigurableApplicationContext node, String path) {
+        return URI.create("http://localhost:" + node.getEnvironment().getProperty("local.server.port") + path);
+    }
+}
@@ -0,0 +1,199 @@
+package com.devlamq.database.invalidation;
+
+import com.devlamq.database.domain.events.AuthorChangedEvent;
+import com.devlamq.database.domain.events.BookChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvalidationBusTests {
+
+    private static final Duration MAX_STALENESS = Duration.ofMillis(500);
+
+    private static final Instant SENT_AT = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final String channel = "books_" + UUID.randomUUID().toString().replace("-", "");
+
+    private final ManualScheduler schedulerA = new ManualScheduler();
+
+    private final ManualScheduler schedulerB = new ManualScheduler();
+
+    private final List<Object> receivedByA = new CopyOnWriteArrayList<>();
+
+    private final List<Object> receivedByB = new CopyOnWriteArrayList<>();
+
+    private final InvalidationBus nodeA = new InvalidationBus(
+            new InProcessInvalidationTransport(channel),
+            receivedByA::add,
+            () -> { },
+            MAX_STALENESS.dividedBy(2),
+            Clock.fixed(SENT_AT, ZoneOffset.UTC),
+            schedulerA);
+
+    private final InvalidationBus nodeB = new InvalidationBus(
+            new InProcessInvalidationTransport(channel),
+            receivedByB::add,
+            () -> { },
+            MAX_STALENESS.dividedBy(2),
+            Clock.fixed(SENT_AT.plusMillis(120), ZoneOffset.UTC),
+            schedulerB);
+
+    @AfterEach
+    public void closeNodes() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    public void testThatPendingInvalidationsAreFlushedWithinTheStalenessBound() {
+        nodeA.start();
+        nodeB.start();
+
+        assertThat(schedulerA.initialDelayMillis + schedulerA.delayMillis).isLessThanOrEqualTo(MAX_STALENESS.toMillis());
+    }
+
+    @Test
+    public void testThatFlushDeliversBatchedEventsToOtherNodesOnly() {
+        nodeA.start();
+        nodeB.start();
+        BookChangedEvent bookChanged = new BookChangedEvent("978-1-2345-6789-0", false, null, true, 7L, "The Shadow in the Attic");
+        AuthorChangedEvent authorChanged = new AuthorChangedEvent(7L);
+
+        nodeA.onBookChanged(bookChanged);
+        nodeA.onAuthorChanged(authorChanged);
+        assertThat(receivedByB).isEmpty();
+
+        schedulerA.runScheduled();
+
+        assertThat(receivedByB).containsExactly(bookChanged, authorChanged);
+        assertThat(receivedByA).isEmpty();
+        assertThat(nodeA.getSentMessages()).isEqualTo(2);
+        assertThat(nodeA.getSentPayloads()).isEqualTo(1);
+        assertThat(nodeB.getReceivedMessages()).isEqualTo(2);
+        assertThat(nodeB.getLastLagMillis()).isEqualTo(120);
+    }
+
+    @Test
+    public void testThatEventsAppliedFromAnotherNodeAreNotEchoedBack() {
+        InvalidationBus[] echoingNode = new InvalidationBus[1];
+        echoingNode[0] = new InvalidationBus(
+                new InProcessInvalidationTransport(channel),
+                event -> echoingNode[0].onAuthorChanged((AuthorChangedEvent) event),
+                () -> { },
+                MAX_STALENESS.dividedBy(2),
+                Clock.fixed(SENT_AT, ZoneOffset.UTC),
+                schedulerB);
+        nodeA.start();
+        echoingNode[0].start();
+
+        nodeA.onAuthorChanged(new AuthorChangedEvent(7L));
+        schedulerA.runScheduled();
+        schedulerB.runScheduled();
+
+        assertThat(echoingNode[0].getReceivedMessages()).isEqualTo(1);
+        assertThat(echoingNode[0].getSentMessages()).isZero();
+        echoingNode[0].close();
+    }
+
+    @Test
+    public void testThatEverySubscriptionResetsLocalState() {
+        AtomicInteger resets = new AtomicInteger();
+        ReconnectingTransport transport = new ReconnectingTransport();
+        InvalidationBus node = new InvalidationBus(
+                transport, event -> { }, resets::incrementAndGet, MAX_STALENESS, Clock.systemUTC(), new ManualScheduler());
+        node.start();
+
+        transport.reconnect();
+        transport.reconnect();
+
+        assertThat(resets).hasValue(2);
+        assertThat(node.getResyncs()).isEqualTo(2);
+        node.close();
+    }
+
+    @Test
+    public void testThatAFailedResetDoesNotStopTheListener() {
+        ReconnectingTransport transport = new ReconnectingTransport();
+        InvalidationBus node = new InvalidationBus(
+                transport,
+                event -> { },
+                () -> {
+                    throw new IllegalStateException("database unavailable");
+                },
+                MAX_STALENESS,
+                Clock.systemUTC(),
+                new ManualScheduler());
+        node.start();
+
+        transport.reconnect();
+
+        assertThat(node.getResyncs()).isZero();
+        node.close();
+    }
+
+    private static final class ReconnectingTransport implements InvalidationTransport {
+
+        private Runnable onConnected;
+
+        @Override
+        public int maxPayloadBytes() {
+            return 1024;
+        }
+
+        @Override
+        public void send(String payload) {
+        }
+
+        @Override
+        public void start(Consumer<String> receiver, Runnable onConnected) {
+            this.onConnected = onConnected;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private void reconnect() {
+            onConnected.run();
+        }
+    }
+
+    private static final class ManualScheduler extends ScheduledThreadPoolExecutor {
+
+        private Runnable command;
+
+        private long initialDelayMillis;
+
+        private long delayMillis;
+
+        private ManualScheduler() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+            this.command = command;
+            this.initialDelayMillis = unit.toMillis(initialDelay);
+            this.delayMillis = unit.toMillis(delay);
+            return null;
+        }
+
+        private void runScheduled() {
+            command.run();
+        }
+    }
+}
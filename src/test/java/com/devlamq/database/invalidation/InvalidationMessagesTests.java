@@ -0,0 +1,48 @@
+package com.devlamq.database.invalidation;
+
+import com.devlamq.database.domain.events.AuthorBooksDeletedEvent;
+import com.devlamq.database.domain.events.AuthorChangedEvent;
+import com.devlamq.database.domain.events.AuthorDeletedEvent;
+import com.devlamq.database.domain.events.BookChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvalidationMessagesTests {
+
+    @Test
+    public void testThatEventsSurviveEncodeAndDecode() {
+        List<Object> events = List.of(
+                new BookChangedEvent("978-1-2345-6789-0", false, null, true, 7L, "The Shadow in the Attic ~ 100%"),
+                new BookChangedEvent("isbn with spaces\nand newline", true, 7L, false, null, null),
+                new BookChangedEvent("978-1-2345-6789-1", true, 7L, true, 8L, ""),
+                new AuthorChangedEvent(7L),
+                new AuthorDeletedEvent(8L),
+                new AuthorBooksDeletedEvent(8L, 1000));
+
+        List<String> payloads = InvalidationMessages.encode("node-a", 42L, events, 8_000);
+
+        assertThat(payloads).hasSize(1);
+        InvalidationMessages.Batch batch = InvalidationMessages.decode(payloads.get(0));
+        assertThat(batch.getNodeId()).isEqualTo("node-a");
+        assertThat(batch.getSentAtMillis()).isEqualTo(42L);
+        assertThat(batch.getEvents()).isEqualTo(events);
+    }
+
+    @Test
+    public void testThatLargeBatchesAreSplitUnderThePayloadLimit() {
+        List<Object> events = new ArrayList<>();
+        for (long id = 0; id < 2_000; id++) {
+            events.add(new AuthorChangedEvent(id));
+        }
+
+        List<String> payloads = InvalidationMessages.encode("node-a", 42L, events, 1_000);
+
+        assertThat(payloads).hasSizeGreaterThan(1).allMatch(payload -> payload.length() <= 1_000);
+        assertThat(payloads.stream().flatMap(payload -> InvalidationMessages.decode(payload).getEvents().stream()))
+                .containsExactlyElementsOf(events);
+    }
+}
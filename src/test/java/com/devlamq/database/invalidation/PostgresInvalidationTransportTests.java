@@ -0,0 +1,102 @@
+package com.devlamq.database.invalidation;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class PostgresInvalidationTransportTests {
+
+    private final DataSource dataSource;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    public PostgresInvalidationTransportTests(DataSource dataSource, DataSourceProperties dataSourceProperties) {
+        this.dataSource = dataSource;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @BeforeEach
+    public void requirePostgres() {
+        assumeTrue(dataSourceProperties.determineUrl().startsWith("jdbc:postgresql:"),
+                "LISTEN/NOTIFY needs a PostgreSQL datasource");
+    }
+
+    @Test
+    public void testThatNotificationsReachListenerWithoutHoldingAPoolConnection() throws Exception {
+        String channel = "books_" + UUID.randomUUID().toString().replace("-", "");
+        List<String> received = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(1);
+
+        try (PostgresInvalidationTransport listener = transport(channel);
+             PostgresInvalidationTransport sender = transport(channel)) {
+            listener.start(payload -> {
+                received.add(payload);
+                delivered.countDown();
+            }, () -> { });
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            do {
+                sender.send("ping");
+            } while (!delivered.await(100, TimeUnit.MILLISECONDS) && System.nanoTime() < deadline);
+
+            assertThat(delivered.getCount()).isZero();
+            assertThat(received).contains("ping");
+            assertThat(dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections()).isZero();
+        }
+    }
+
+    @Test
+    public void testThatListenerResyncsAfterItsConnectionIsDropped() throws Exception {
+        String channel = "books_" + UUID.randomUUID().toString().replace("-", "");
+        AtomicInteger connections = new AtomicInteger();
+
+        try (PostgresInvalidationTransport listener = transport(channel)) {
+            listener.start(payload -> { }, connections::incrementAndGet);
+            awaitConnections(connections, 1);
+
+            new JdbcTemplate(dataSource).query(
+                    "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE query = ?",
+                    resultSet -> { },
+                    "LISTEN " + channel);
+
+            awaitConnections(connections, 2);
+        }
+    }
+
+    private void awaitConnections(AtomicInteger connections, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (connections.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(connections).hasValue(expected);
+    }
+
+    private PostgresInvalidationTransport transport(String channel) {
+        return new PostgresInvalidationTransport(
+                dataSource,
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword(),
+                channel,
+                50);
+    }
+}
@@ -0,0 +1,148 @@
+package com.devlamq.database.json;
+
+import com.devlamq.database.config.MapperConfig;
+import com.devlamq.database.domain.dto.BookDto;
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.fixtures.CatalogGenerator;
+import com.devlamq.database.mappers.Mapper;
+import com.devlamq.database.mappers.impl.BookMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.java.Log;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Log
+@Tag("performance")
+public class CatalogJsonBenchmarkTests {
+
+    private static final int BOOKS = 1_000;
+
+    @Test
+    public void compareAllocationPerSerializedBook() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(CatalogJsonBenchmarkTests.class.getName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+
+        Map<String, Double> bytesPerBook = new HashMap<>();
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark();
+            String name = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+            bytesPerBook.put(name, result.getSecondaryResults().get("gc.alloc.rate.norm").getScore() / BOOKS);
+            log.info(String.format("%-24s %10.1f bytes allocated per book", name, bytesPerBook.get(name)));
+        }
+        assertThat(bytesPerBook).containsOnlyKeys("mapperAndObjectMapper", "catalogJsonWriter");
+        assertThat(bytesPerBook.get("catalogJsonWriter")).isLessThan(1.0);
+        assertThat(bytesPerBook.get("mapperAndObjectMapper")).isGreaterThan(bytesPerBook.get("catalogJsonWriter"));
+    }
+
+    @State(Scope.Thread)
+    public static class Catalog {
+
+        List<BookEntity> books;
+
+        Mapper<BookEntity, BookDto> bookMapper;
+
+        ObjectMapper objectMapper;
+
+        JsonOutputPool pool;
+
+        DiscardingOutputStream sink;
+
+        @Setup
+        public void setUp() {
+            Random random = new Random(42L);
+            books = new ArrayList<>(BOOKS);
+            for (int i = 0; i < BOOKS; i++) {
+                books.add(BookEntity.builder()
+                        .isbn(CatalogGenerator.isbn(i))
+                        .title("Title " + random.nextInt(BOOKS))
+                        .authorEntity(AuthorEntity.builder()
+                                .id((long) random.nextInt(BOOKS / 10))
+                                .name("Author " + random.nextInt(BOOKS / 10))
+                                .age(20 + random.nextInt(70))
+                                .build())
+                        .build());
+            }
+            bookMapper = new BookMapperImpl(new MapperConfig().modelMapper());
+            objectMapper = new ObjectMapper();
+            pool = new JsonOutputPool(1, 8192);
+            sink = new DiscardingOutputStream();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public long mapperAndObjectMapper(Catalog catalog) throws IOException {
+        List<BookDto> dtos = new ArrayList<>(catalog.books.size());
+        for (BookEntity book : catalog.books) {
+            dtos.add(catalog.bookMapper.mapTo(book));
+        }
+        catalog.objectMapper.writeValue(catalog.sink, dtos);
+        return catalog.sink.written;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public long catalogJsonWriter(Catalog catalog) throws IOException {
+        JsonOutput output = catalog.pool.acquire(catalog.sink);
+        try {
+            CatalogJsonWriter.writeBooks(output, catalog.books);
+            output.flush();
+        } finally {
+            catalog.pool.release(output);
+        }
+        return catalog.sink.written;
+    }
+
+    static class DiscardingOutputStream extends OutputStream {
+
+        long written;
+
+        @Override
+        public void write(int b) {
+            written++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            written += len;
+        }
+    }
+}
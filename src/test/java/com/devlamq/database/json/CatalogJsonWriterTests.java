@@ -0,0 +1,79 @@
+package com.devlamq.database.json;
+
+import com.devlamq.database.TestDataUtil;
+import com.devlamq.database.domain.dto.AuthorDto;
+import com.devlamq.database.domain.dto.BookDto;
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CatalogJsonWriterTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final JsonOutputPool pool = new JsonOutputPool(1, 16);
+
+    @Test
+    public void testThatBookListMatchesJacksonOutputForDtos() throws Exception {
+        AuthorEntity author = TestDataUtil.createTestAuthorA();
+        author.setName("Zoë \"Quoted\" \\ Tab\t Line\n Bell\u0007 Emoji 📚");
+        BookEntity bookA = TestDataUtil.createTestBookA(author);
+        BookEntity bookB = TestDataUtil.createTestBookB(null);
+        bookB.setTitle("日本語のタイトル");
+        List<BookEntity> books = List.of(bookA, bookB);
+
+        List<BookDto> dtos = books.stream().map(this::toDto).toList();
+
+        assertThat(objectMapper.readTree(write(CatalogJson.books(books))))
+                .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(dtos)));
+    }
+
+    @Test
+    public void testThatAuthorWithNullFieldsMatchesJacksonOutputForDto() throws Exception {
+        AuthorEntity author = AuthorEntity.builder().id(Long.MIN_VALUE).build();
+
+        AuthorDto dto = AuthorDto.builder().id(author.getId()).build();
+
+        assertThat(objectMapper.readTree(write(CatalogJson.author(author))))
+                .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(dto)));
+    }
+
+    @Test
+    public void testThatPooledOutputIsReused() throws Exception {
+        JsonOutput first = pool.acquire(new ByteArrayOutputStream());
+        pool.release(first);
+
+        assertThat(pool.acquire(new ByteArrayOutputStream())).isSameAs(first);
+    }
+
+    private byte[] write(CatalogJson<?> catalogJson) throws Exception {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        JsonOutput output = pool.acquire(target);
+        try {
+            catalogJson.writeTo(output);
+            output.flush();
+        } finally {
+            pool.release(output);
+        }
+        return target.toByteArray();
+    }
+
+    private BookDto toDto(BookEntity book) {
+        AuthorEntity author = book.getAuthorEntity();
+        return BookDto.builder()
+                .isbn(book.getIsbn())
+                .title(book.getTitle())
+                .author(author == null ? null : AuthorDto.builder()
+                        .id(author.getId())
+                        .name(author.getName())
+                        .age(author.getAge())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.devlamq.database.json;
+
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.fixtures.CatalogGenerator;
+import lombok.extern.java.Log;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Log
+@Tag("performance")
+public class ParallelJsonBenchmarkTests {
+
+    @Test
+    public void findSequentialToParallelCrossover() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(ParallelJsonBenchmarkTests.class.getName() + ".*")
+                .build()).run();
+
+        Map<String, Double> millis = new HashMap<>();
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark();
+            String key = benchmark.substring(benchmark.lastIndexOf('.') + 1) + ' ' + result.getParams().getParam("rows");
+            millis.put(key, result.getPrimaryResult().getScore());
+            log.info(String.format("%-18s rows: %10.2f ms", key, result.getPrimaryResult().getScore()));
+        }
+        assertThat(results).hasSize(6);
+        assertThat(millis.values()).allSatisfy(score -> assertThat(score).isPositive().isFinite());
+        if (Runtime.getRuntime().availableProcessors() > 1) {
+            assertThat(millis.get("chunked 1000000")).isLessThan(millis.get("sequential 1000000"));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Catalog {
+
+        @Param({"10000", "100000", "1000000"})
+        int rows;
+
+        CatalogJson<BookEntity> books;
+
+        ParallelJsonWriter writer;
+
+        DiscardingOutputStream sink;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42L);
+            List<BookEntity> entities = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                entities.add(BookEntity.builder()
+                        .isbn(CatalogGenerator.isbn(i))
+                        .title("Title " + random.nextInt(rows))
+                        .authorEntity(AuthorEntity.builder()
+                                .id((long) random.nextInt(rows / 10))
+                                .name("Author " + random.nextInt(rows / 10))
+                                .age(20 + random.nextInt(70))
+                                .build())
+                        .build());
+            }
+            books = CatalogJson.books(entities);
+            writer = new ParallelJsonWriter(
+                    new JsonOutputPool(64, 8192),
+                    Runtime.getRuntime().availableProcessors(),
+                    Integer.MAX_VALUE,
+                    4096);
+            sink = new DiscardingOutputStream();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            writer.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+    public long sequential(Catalog catalog) throws IOException {
+        catalog.writer.writeSequential(catalog.books, catalog.sink);
+        return catalog.sink.written;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+    public long chunked(Catalog catalog) throws IOException {
+        catalog.writer.writeChunked(catalog.books, catalog.sink);
+        return catalog.sink.written;
+    }
+
+    static class DiscardingOutputStream extends OutputStream {
+
+        long written;
+
+        @Override
+        public void write(int b) {
+            written++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            written += len;
+        }
+    }
+}
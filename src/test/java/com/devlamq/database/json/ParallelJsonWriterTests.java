@@ -0,0 +1,63 @@
+package com.devlamq.database.json;
+
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.fixtures.CatalogGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelJsonWriterTests {
+
+    private final ParallelJsonWriter writer = new ParallelJsonWriter(new JsonOutputPool(8, 256), 4, 100, 7);
+
+    @AfterEach
+    public void closeWriter() {
+        writer.close();
+    }
+
+    @Test
+    public void testThatChunkedOutputMatchesSequentialOutput() throws Exception {
+        CatalogJson<BookEntity> books = CatalogJson.books(books(1_003));
+
+        assertThat(chunked(books)).isEqualTo(sequential(books));
+    }
+
+    @Test
+    public void testThatEmptyAndSingleElementListsAreWrittenIdentically() throws Exception {
+        CatalogJson<BookEntity> empty = CatalogJson.books(List.of());
+        CatalogJson<BookEntity> single = CatalogJson.books(books(1));
+
+        assertThat(new String(chunked(empty))).isEqualTo("[]");
+        assertThat(chunked(single)).isEqualTo(sequential(single));
+    }
+
+    private byte[] chunked(CatalogJson<?> catalogJson) throws Exception {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        writer.writeChunked(catalogJson, target);
+        return target.toByteArray();
+    }
+
+    private byte[] sequential(CatalogJson<?> catalogJson) throws Exception {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        writer.writeSequential(catalogJson, target);
+        return target.toByteArray();
+    }
+
+    private static List<BookEntity> books(int count) {
+        List<BookEntity> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            books.add(BookEntity.builder()
+                    .isbn(CatalogGenerator.isbn(i))
+                    .title("Title " + i)
+                    .authorEntity(AuthorEntity.builder().id((long) i % 17).name("Author " + i % 17).age(40).build())
+                    .build());
+        }
+        return books;
+    }
+}
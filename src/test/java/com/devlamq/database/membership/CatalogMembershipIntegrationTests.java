@@ -0,0 +1,80 @@
+package com.devlamq.database.membership;
+
+import com.devlamq.database.TestDataUtil;
+import com.devlamq.database.domain.dto.AuthorDto;
+import com.devlamq.database.domain.dto.BookDto;
+import com.devlamq.database.fixtures.DatabaseCleaner;
+import com.devlamq.database.services.CatalogDerivedState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "books.membership.enabled=true")
+@AutoConfigureMockMvc
+public class CatalogMembershipIntegrationTests {
+
+    private final MockMvc mockMvc;
+
+    private final CatalogMembership catalogMembership;
+
+    private final ObjectMapper objectMapper;
+
+    private final DatabaseCleaner databaseCleaner;
+
+    @Autowired
+    public CatalogMembershipIntegrationTests(
+            MockMvc mockMvc,
+            CatalogMembership catalogMembership,
+            JdbcTemplate jdbcTemplate,
+            List<CatalogDerivedState> derivedStates) {
+        this.mockMvc = mockMvc;
+        this.catalogMembership = catalogMembership;
+        this.objectMapper = new ObjectMapper();
+        this.databaseCleaner = new DatabaseCleaner(jdbcTemplate, derivedStates);
+    }
+
+    @BeforeEach
+    public void resetDatabase() {
+        databaseCleaner.truncateCatalog();
+    }
+
+    @Test
+    public void testThatAuthorCreatedThroughNestedBookPutIsFound() throws Exception {
+        AuthorDto author = TestDataUtil.createTestAuthorDtoA();
+        author.setId(null);
+        BookDto book = TestDataUtil.createTestBookDtoA(author);
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + book.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(book))
+        ).andExpect(
+                MockMvcResultMatchers.status().isCreated()
+        ).andReturn();
+        long authorId = objectMapper.readTree(result.getResponse().getContentAsString()).at("/author/id").asLong();
+
+        assertThat(catalogMembership.getIsbns().mightContain(book.getIsbn())).isTrue();
+        assertThat(catalogMembership.getAuthorIds().mightContain(authorId)).isTrue();
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + authorId)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.name").value(author.getName())
+        );
+    }
+}
@@ -0,0 +1,108 @@
+package com.devlamq.database.membership;
+
+import com.devlamq.database.fixtures.CatalogGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MembershipIndexTests {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    public void testThatEveryAddedKeyIsReportedAsPossiblyPresent() {
+        MembershipIndex<String> index = new MembershipIndex<>(BloomFilter::hash, 0.01);
+        index.rebuild(KEYS, add -> {
+            for (int i = 0; i < KEYS; i++) {
+                add.accept(CatalogGenerator.isbn(i));
+            }
+        });
+
+        for (int i = 0; i < KEYS; i++) {
+            assertThat(index.mightContain(CatalogGenerator.isbn(i))).isTrue();
+        }
+    }
+
+    @Test
+    public void testThatFalsePositiveRateStaysNearConfiguredRate() {
+        MembershipIndex<Long> index = new MembershipIndex<>(BloomFilter::hash, 0.01);
+        index.rebuild(KEYS, add -> {
+            for (long id = 0; id < KEYS; id++) {
+                add.accept(id);
+            }
+        });
+
+        int falsePositives = 0;
+        for (long id = KEYS; id < 2L * KEYS; id++) {
+            if (index.exists(id, () -> false)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat((double) falsePositives / KEYS).isLessThan(0.02);
+        assertThat(index.getObservedFalsePositiveRate()).isLessThan(0.02);
+        assertThat(index.getSizeInBytes()).isLessThan(KEYS * 4L);
+    }
+
+    @Test
+    public void testThatDefiniteMissSkipsLookup() {
+        MembershipIndex<String> index = new MembershipIndex<>(BloomFilter::hash, 0.01);
+        index.rebuild(0, add -> add.accept("978-1-2345-6789-0"));
+
+        Optional<String> found = index.find("978-0-0000-0000-0", () -> {
+            throw new AssertionError("lookup should be skipped");
+        });
+
+        assertThat(found).isEmpty();
+        assertThat(index.getDefiniteMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatKeysAddedDuringRebuildSurviveTheSwap() {
+        MembershipIndex<String> index = new MembershipIndex<>(BloomFilter::hash, 0.01);
+        index.rebuild(0, add -> { });
+
+        index.rebuild(1, add -> index.add("978-1-2345-6789-1"));
+
+        assertThat(index.mightContain("978-1-2345-6789-1")).isTrue();
+    }
+
+    @Test
+    public void testThatKeysAddedConcurrentlyWithRebuildsAreNeverLost() throws Exception {
+        MembershipIndex<String> index = new MembershipIndex<>(BloomFilter::hash, 0.01);
+        Set<String> stored = ConcurrentHashMap.newKeySet();
+        index.rebuild(0, add -> { });
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        Thread rebuilder = new Thread(() -> {
+            while (writing.get()) {
+                index.rebuild(KEYS, add -> List.copyOf(stored).forEach(add));
+            }
+        });
+        rebuilder.start();
+        for (int i = 0; i < 20_000; i++) {
+            String isbn = CatalogGenerator.isbn(i);
+            stored.add(isbn);
+            index.add(isbn);
+        }
+        writing.set(false);
+        rebuilder.join();
+
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(index.mightContain(CatalogGenerator.isbn(i))).isTrue();
+        }
+    }
+
+    @Test
+    public void testThatLookupsPassThroughBeforeFirstBuild() {
+        MembershipIndex<String> index = new MembershipIndex<>(BloomFilter::hash, 0.01);
+
+        assertThat(index.exists("978-1-2345-6789-0", () -> true)).isTrue();
+    }
+}
@@ -0,0 +1,57 @@
+package com.devlamq.database.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrencyLimiterTests {
+
+    private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(250);
+
+    @Test
+    public void testThatRequestsAreShedOnceLimitIsReached() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 2, TARGET);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        limiter.release(0);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void testThatSlowResponsesShrinkTheLimitMultiplicatively() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(5, 100, TARGET);
+
+        limiter.tryAcquire();
+        limiter.release(2 * TARGET);
+        assertThat(limiter.getLimit()).isEqualTo(90);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(2 * TARGET);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    public void testThatFastResponsesGrowTheLimitAdditively() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(5, 100, TARGET);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(2 * TARGET);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.release(TARGET / 2);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(15);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
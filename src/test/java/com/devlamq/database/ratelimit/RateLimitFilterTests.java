@@ -0,0 +1,86 @@
+package com.devlamq.database.ratelimit;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitFilterTests {
+
+    private final ClientRateLimiter rateLimiter = new ClientRateLimiter(3, 1);
+
+    @Test
+    public void testThatExhaustedClientGets429WithRetryAfter() throws Exception {
+        RateLimitFilter filter = filter(new ConcurrencyLimiter(1, 10, TimeUnit.SECONDS.toNanos(1)), false);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(get(filter, "10.0.0.1", null).getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+        MockHttpServletResponse rejected = get(filter, "10.0.0.1", null);
+
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(get(filter, "10.0.0.2", null).getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    public void testThatClientIdHeaderIsIgnoredUnlessTrusted() throws Exception {
+        RateLimitFilter untrusted = filter(new ConcurrencyLimiter(1, 10, TimeUnit.SECONDS.toNanos(1)), false);
+        for (int i = 0; i < 3; i++) {
+            get(untrusted, "10.0.0.1", "client-" + i);
+        }
+        assertThat(get(untrusted, "10.0.0.1", "client-3").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+
+        RateLimitFilter trusted = filter(new ConcurrencyLimiter(1, 10, TimeUnit.SECONDS.toNanos(1)), true);
+        assertThat(get(trusted, "10.0.0.1", "client-4").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    public void testThatShedRequestsAre503AndRefundTheirTokens() throws Exception {
+        ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter(1, 1, TimeUnit.SECONDS.toNanos(1));
+        RateLimitFilter filter = filter(concurrencyLimiter, false);
+        concurrencyLimiter.tryAcquire();
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse shed = get(filter, "10.0.0.1", null);
+            assertThat(shed.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+            assertThat(shed.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        }
+
+        concurrencyLimiter.release(0);
+        assertThat(get(filter, "10.0.0.1", null).getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    public void testThatIdleClientsArePruned() throws Exception {
+        RateLimitFilter filter = filter(new ConcurrencyLimiter(1, 10, TimeUnit.SECONDS.toNanos(1)), false);
+        get(filter, "10.0.0.1", null);
+        rateLimiter.refund("address:10.0.0.1", 1);
+
+        rateLimiter.prune();
+
+        assertThat(rateLimiter.getTrackedClients()).isZero();
+    }
+
+    private RateLimitFilter filter(ConcurrencyLimiter concurrencyLimiter, boolean trustClientIdHeader) {
+        return new RateLimitFilter(rateLimiter, concurrencyLimiter, () -> (HikariPoolMXBean) null, 10, 20, 2, trustClientIdHeader);
+    }
+
+    private MockHttpServletResponse get(RateLimitFilter filter, String remoteAddr, String clientId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books/978-1-2345-6789-0");
+        request.setRemoteAddr(remoteAddr);
+        if (clientId != null) {
+            request.addHeader(RateLimitFilter.CLIENT_ID_HEADER, clientId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
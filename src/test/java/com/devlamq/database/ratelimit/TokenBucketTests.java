@@ -0,0 +1,47 @@
+package com.devlamq.database.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testThatBucketAllowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(bucket.tryConsume(1, 0)).isTrue();
+        }
+        assertThat(bucket.tryConsume(1, 0)).isFalse();
+    }
+
+    @Test
+    public void testThatBucketRefillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        assertThat(bucket.tryConsume(10, 0)).isTrue();
+
+        assertThat(bucket.nanosUntilAvailable(5, 0)).isEqualTo(SECOND);
+        assertThat(bucket.tryConsume(5, SECOND / 2)).isFalse();
+        assertThat(bucket.tryConsume(5, SECOND)).isTrue();
+        assertThat(bucket.isFull(SECOND)).isFalse();
+        assertThat(bucket.isFull(3 * SECOND)).isTrue();
+    }
+
+    @Test
+    public void testThatRefundNeverExceedsCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        assertThat(bucket.tryConsume(4, 0)).isTrue();
+
+        bucket.refund(4, 0);
+        bucket.refund(4, 0);
+
+        assertThat(bucket.isFull(0)).isTrue();
+        assertThat(bucket.tryConsume(10, 0)).isTrue();
+        assertThat(bucket.tryConsume(1, 0)).isFalse();
+    }
+}
@@ -0,0 +1,63 @@
+package com.devlamq.database.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class CatalogSchemaQueryPlanTests {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CatalogSchemaQueryPlanTests(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Test
+    public void testThatBooksByAuthorUsesAuthorIndex() {
+        assertThat(explain("SELECT * FROM books WHERE author_id = 1"))
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    public void testThatAuthorNameLookupIsCaseInsensitiveAndIndexed() {
+        jdbcTemplate.update("INSERT INTO authors (id, name, age) VALUES (1, 'Abigail Rose', 80)");
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT name FROM authors WHERE name_lower = LOWER('ABIGAIL ROSE')", String.class))
+                .isEqualTo("Abigail Rose");
+        assertThat(explain("SELECT id, name, age FROM authors WHERE name_lower = LOWER('ABIGAIL ROSE')"))
+                .doesNotContainIgnoringCase("tableScan")
+                .containsIgnoringCase("idx_authors_name_lower");
+    }
+
+    @Test
+    public void testThatTitlePrefixSearchUsesTitleIndex() {
+        assertThat(explain("SELECT * FROM books WHERE title LIKE 'The Shadow%'"))
+                .doesNotContainIgnoringCase("tableScan")
+                .containsIgnoringCase("idx_books_title_prefix");
+    }
+
+    @Test
+    public void testThatBookLookupByIsbnUsesPrimaryKey() {
+        assertThat(explain("SELECT * FROM books WHERE isbn = '978-1-2345-6789-0'"))
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    public void testThatIsbnColumnIsBounded() {
+        Integer isbnLength = jdbcTemplate.queryForObject(
+                "SELECT character_maximum_length FROM information_schema.columns "
+                        + "WHERE LOWER(table_name) = 'books' AND LOWER(column_name) = 'isbn'",
+                Integer.class);
+        assertThat(isbnLength).isEqualTo(17);
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
@@ -0,0 +1,112 @@
+package com.devlamq.database.services.cleanup;
+
+import com.devlamq.database.TestDataUtil;
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.domain.events.AuthorBooksDeletedEvent;
+import com.devlamq.database.fixtures.CatalogGenerator;
+import com.devlamq.database.fixtures.DatabaseCleaner;
+import com.devlamq.database.services.AuthorService;
+import com.devlamq.database.services.BookService;
+import com.devlamq.database.services.CatalogDerivedState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "books.reaper.batch-size=2",
+        "books.reaper.grace-period=PT1M",
+        "books.reaper.interval=PT1H"
+})
+@ExtendWith(SpringExtension.class)
+@RecordApplicationEvents
+public class AuthorReaperIntegrationTests {
+
+    private final AuthorService authorService;
+
+    private final BookService bookService;
+
+    private final AuthorReaper authorReaper;
+
+    private final AuthorTombstones tombstones;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DatabaseCleaner databaseCleaner;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    public AuthorReaperIntegrationTests(
+            AuthorService authorService,
+            BookService bookService,
+            AuthorReaper authorReaper,
+            AuthorTombstones tombstones,
+            JdbcTemplate jdbcTemplate,
+            List<CatalogDerivedState> derivedStates) {
+        this.authorService = authorService;
+        this.bookService = bookService;
+        this.authorReaper = authorReaper;
+        this.tombstones = tombstones;
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseCleaner = new DatabaseCleaner(jdbcTemplate, derivedStates);
+    }
+
+    @BeforeEach
+    public void resetDatabase() {
+        databaseCleaner.truncateCatalog();
+    }
+
+    @Test
+    public void testThatReaperDeletesBooksInBatchesAfterGracePeriod() {
+        AuthorEntity deleted = authorService.save(TestDataUtil.createTestAuthorA());
+        AuthorEntity kept = authorService.save(TestDataUtil.createTestAuthorB());
+        for (int i = 0; i < 5; i++) {
+            saveBook(CatalogGenerator.isbn(i), deleted);
+        }
+        saveBook(CatalogGenerator.isbn(5), kept);
+        authorService.delete(deleted.getId());
+
+        authorReaper.reap();
+
+        assertThat(booksOf(deleted)).isEqualTo(5);
+        assertThat(events.stream(AuthorBooksDeletedEvent.class)).isEmpty();
+
+        jdbcTemplate.update("UPDATE authors SET deleted_at = ? WHERE id = ?",
+                Timestamp.from(Instant.now().minus(Duration.ofMinutes(2))), deleted.getId());
+        authorReaper.reap();
+
+        assertThat(booksOf(deleted)).isZero();
+        assertThat(booksOf(kept)).isEqualTo(1);
+        assertThat(events.stream(AuthorBooksDeletedEvent.class).map(AuthorBooksDeletedEvent::getDeletedBooks))
+                .containsExactly(2L, 2L, 1L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM authors WHERE id = ?", Integer.class, deleted.getId())).isZero();
+        assertThat(tombstones.isDeleted(deleted.getId())).isFalse();
+    }
+
+    private void saveBook(String isbn, AuthorEntity author) {
+        BookEntity book = TestDataUtil.createTestBookA(author);
+        book.setIsbn(isbn);
+        bookService.createUpdateBook(isbn, book);
+    }
+
+    private int booksOf(AuthorEntity author) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM books WHERE author_id = ?", Integer.class, author.getId());
+    }
+}
@@ -0,0 +1,33 @@
+package com.devlamq.database.services.cleanup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AuthorTombstonesTests {
+
+    @Test
+    public void testThatRefreshDropsAuthorsNoLongerTombstoned() {
+        AuthorTombstones tombstones = new AuthorTombstones(null);
+        tombstones.refresh(() -> List.of(1L, 2L));
+
+        tombstones.refresh(() -> List.of(2L));
+
+        assertThat(tombstones.isDeleted(1L)).isFalse();
+        assertThat(tombstones.isDeleted(2L)).isTrue();
+    }
+
+    @Test
+    public void testThatTombstonesAddedDuringRefreshSurviveIt() {
+        AuthorTombstones tombstones = new AuthorTombstones(null);
+
+        tombstones.refresh(() -> {
+            tombstones.add(3L);
+            return List.of();
+        });
+
+        assertThat(tombstones.isDeleted(3L)).isTrue();
+    }
+}
@@ -0,0 +1,95 @@
+package com.devlamq.database.services.impl;
+
+import com.devlamq.database.domain.dto.AuthorStatsDto;
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.events.BookChangedEvent;
+import com.devlamq.database.repositories.AuthorRepository;
+import com.devlamq.database.repositories.BookRepository;
+import com.devlamq.database.services.cleanup.AuthorTombstones;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StatsServiceImplTests {
+
+    private final AtomicInteger authorLookups = new AtomicInteger();
+
+    private final AuthorTombstones tombstones = new AuthorTombstones(null);
+
+    private final StatsServiceImpl statsService = new StatsServiceImpl(
+            repository(BookRepository.class), repository(AuthorRepository.class), tombstones, 10);
+
+    @Test
+    public void testThatConcurrentCreatesAndDeletesNeverLoseCounts() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String isbn = "isbn-" + t;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        statsService.onBookChanged(new BookChangedEvent(isbn, false, null, true, 1L, "title"));
+                        statsService.onBookChanged(new BookChangedEvent(isbn, true, 1L, false, null, null));
+                    }
+                    statsService.onBookChanged(new BookChangedEvent(isbn, false, null, true, 1L, "title"));
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(statsService.authorStats(1L).getBookCount()).isEqualTo(threads);
+        assertThat(statsService.catalogStats().getTotalBooks()).isEqualTo(threads);
+    }
+
+    @Test
+    public void testThatTopAuthorsAreOnlyRefreshedAfterAChange() {
+        statsService.onBookChanged(new BookChangedEvent("isbn", false, null, true, 1L, "title"));
+        statsService.refreshTopAuthors();
+        statsService.refreshTopAuthors();
+
+        assertThat(authorLookups).hasValue(1);
+
+        statsService.onBookChanged(new BookChangedEvent("isbn-2", false, null, true, 1L, "title"));
+        statsService.refreshTopAuthors();
+
+        assertThat(authorLookups).hasValue(2);
+    }
+
+    @Test
+    public void testThatTombstonedAuthorsAreLeftOutOfTopAuthors() {
+        statsService.onBookChanged(new BookChangedEvent("isbn-1", false, null, true, 1L, "title"));
+        statsService.onBookChanged(new BookChangedEvent("isbn-2", false, null, true, 2L, "title"));
+        tombstones.add(1L);
+        statsService.refreshTopAuthors();
+
+        assertThat(statsService.catalogStats().getTopAuthors())
+                .extracting(AuthorStatsDto::getAuthorId)
+                .containsExactly(2L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T repository(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().equals("findAllById")) {
+                authorLookups.incrementAndGet();
+                List<AuthorEntity> authors = new ArrayList<>();
+                ((Iterable<Long>) args[0]).forEach(id -> authors.add(AuthorEntity.builder().id(id).build()));
+                return authors;
+            }
+            return List.of();
+        });
+    }
+}
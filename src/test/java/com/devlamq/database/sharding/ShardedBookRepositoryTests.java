@@ -0,0 +1,275 @@
+package com.devlamq.database.sharding;
+
+import com.devlamq.database.TestDataUtil;
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.fixtures.CatalogGenerator;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ShardedBookRepositoryTests {
+
+    private static final int BOOKS = 300;
+
+    private final List<Shard> shards = new ArrayList<>();
+
+    private ExecutorService executor;
+
+    private ShardRouter router;
+
+    private ShardedAuthorRepository authorRepository;
+
+    private ShardedBookRepository bookRepository;
+
+    @BeforeEach
+    public void createShards() {
+        String run = UUID.randomUUID().toString();
+        for (int i = 0; i < 4; i++) {
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:shard" + i + "-" + run + ";DB_CLOSE_DELAY=-1", "sa", "");
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                    .load()
+                    .migrate();
+            shards.add(new Shard("shard" + i, dataSource, true));
+        }
+        executor = Executors.newFixedThreadPool(4);
+        router = new ShardRouter(shards, 3, 128);
+        authorRepository = new ShardedAuthorRepository(shards);
+        bookRepository = new ShardedBookRepository(router, authorRepository, executor);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+        for (Shard shard : shards) {
+            shard.getJdbcTemplate().execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    public void testThatBooksAreSpreadAcrossActiveShardsAndFoundById() {
+        List<String> isbns = saveBooks();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(countOn(shards.get(i))).isPositive();
+        }
+        assertThat(countOn(shards.get(3))).isZero();
+        assertThat(bookRepository.count()).isEqualTo(BOOKS);
+        for (String isbn : isbns) {
+            assertThat(bookRepository.findById(isbn)).isPresent();
+        }
+    }
+
+    @Test
+    public void testThatAuthorsAreReplicatedToEveryShard() {
+        AuthorEntity author = authorRepository.save(TestDataUtil.createTestAuthorA());
+
+        for (Shard shard : shards) {
+            assertThat(shard.getJdbcTemplate().queryForObject(
+                    "SELECT name FROM authors WHERE id = ?", String.class, author.getId()))
+                    .isEqualTo("Abigail Rose");
+        }
+    }
+
+    @Test
+    public void testThatSavingBookReplicatesAuthorOnlyWhenChanged() {
+        AuthorEntity author = authorRepository.save(TestDataUtil.createTestAuthorA());
+        Shard replica = shards.get(2);
+        replica.getJdbcTemplate().update("UPDATE authors SET name = 'untouched' WHERE id = ?", author.getId());
+
+        bookRepository.save(TestDataUtil.createTestBookA(author));
+        assertThat(nameOn(replica, author)).isEqualTo("untouched");
+
+        author.setName("Abigail R. Rose");
+        bookRepository.save(TestDataUtil.createTestBookB(author));
+        assertThat(nameOn(replica, author)).isEqualTo("Abigail R. Rose");
+    }
+
+    @Test
+    public void testThatFindAllMergesShardsInIsbnOrder() {
+        saveBooks();
+
+        List<String> isbns = new ArrayList<>();
+        bookRepository.findAll().forEach(book -> isbns.add(book.getIsbn()));
+
+        assertThat(isbns).hasSize(BOOKS).isSorted();
+    }
+
+    @Test
+    public void testThatKeysetCursorWalksEveryBookOnce() {
+        saveBooks();
+
+        List<String> walked = new ArrayList<>();
+        String after = "";
+        List<BookEntity> page;
+        do {
+            page = bookRepository.findByIsbnGreaterThanOrderByIsbn(after, Limit.of(37));
+            page.forEach(book -> walked.add(book.getIsbn()));
+            after = page.isEmpty() ? after : page.get(page.size() - 1).getIsbn();
+        } while (!page.isEmpty());
+
+        assertThat(walked).hasSize(BOOKS).doesNotHaveDuplicates().isSorted();
+    }
+
+    @Test
+    public void testThatIsbnKeysetWalksEveryBookOnce() {
+        List<String> isbns = saveBooks();
+
+        List<String> walked = new ArrayList<>();
+        List<String> page = bookRepository.findIsbnsAfter("", Limit.of(37));
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            page = bookRepository.findIsbnsAfter(page.get(page.size() - 1), Limit.of(37));
+        }
+
+        assertThat(walked).containsExactlyElementsOf(isbns.stream().sorted().toList());
+    }
+
+    @Test
+    public void testThatReshardingMovesBooksToTheirNewOwners() {
+        List<String> isbns = saveBooks();
+
+        long moved = new ReshardingTool(router, bookRepository, authorRepository, 50, executor).reshard(shards);
+
+        assertThat(moved).isPositive();
+        assertThat(countOn(shards.get(3))).isEqualTo(moved);
+        assertThat(bookRepository.count()).isEqualTo(BOOKS);
+        for (String isbn : isbns) {
+            BookEntity book = bookRepository.findById(isbn).orElseThrow();
+            assertThat(book.getAuthorEntity().getName()).isEqualTo("Abigail Rose");
+            assertThat(router.shardFor(isbn).getJdbcTemplate().queryForObject(
+                    "SELECT COUNT(*) FROM books WHERE isbn = ?", Integer.class, isbn)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void testThatReshardingDoesNotRecreateBooksDeletedMidBatch() {
+        List<String> isbns = saveBooks();
+        List<String> deleted = new ArrayList<>();
+        ShardedBookRepository deletingRepository = new ShardedBookRepository(router, authorRepository, executor) {
+            @Override
+            List<BookEntity> findPageOn(Shard shard, String afterIsbn, int limit) {
+                List<BookEntity> page = super.findPageOn(shard, afterIsbn, limit);
+                if (!page.isEmpty()) {
+                    String isbn = page.get(page.size() - 1).getIsbn();
+                    shard.getJdbcTemplate().update("DELETE FROM books WHERE isbn = ?", isbn);
+                    deleted.add(isbn);
+                }
+                return page;
+            }
+        };
+
+        new ReshardingTool(router, deletingRepository, authorRepository, 50, executor).reshard(shards);
+
+        assertThat(deleted).isNotEmpty();
+        assertThat(bookRepository.count()).isEqualTo(BOOKS - deleted.size());
+        for (String isbn : deleted) {
+            assertThat(bookRepository.findById(isbn)).isEmpty();
+        }
+        assertThat(isbns).containsAll(deleted);
+    }
+
+    @Test
+    public void testThatReshardingRunsAsABackgroundJob() {
+        saveBooks();
+        List<Runnable> queued = new ArrayList<>();
+        ReshardingTool tool = new ReshardingTool(router, bookRepository, authorRepository, 50, queued::add);
+
+        ReshardingJob job = tool.start(shards);
+        assertThat(tool.getJob()).isSameAs(job);
+        assertThat(job.getState()).isEqualTo(ReshardingJob.State.RUNNING);
+        assertThatThrownBy(() -> tool.start(shards)).isInstanceOf(IllegalStateException.class);
+
+        queued.forEach(Runnable::run);
+
+        assertThat(job.getState()).isEqualTo(ReshardingJob.State.COMPLETED);
+        assertThat(job.getMovedBooks()).isPositive().isEqualTo(countOn(shards.get(3)));
+        assertThat(job.getScannedBooks()).isGreaterThanOrEqualTo(BOOKS);
+        assertThat(job.toMap()).containsEntry("state", ReshardingJob.State.COMPLETED).containsKey("finishedAt");
+    }
+
+    @Test
+    public void testThatFailedAuthorReplicationIsRecordedAndRetried() {
+        AuthorEntity author = authorRepository.save(TestDataUtil.createTestAuthorA());
+        Shard replica = shards.get(2);
+        replica.getJdbcTemplate().execute("ALTER TABLE authors RENAME TO authors_offline");
+
+        author.setName("Abigail R. Rose");
+        authorRepository.save(author);
+
+        assertThat(authorRepository.getPendingReplicationCount()).isEqualTo(1);
+        for (Shard shard : List.of(shards.get(0), shards.get(1), shards.get(3))) {
+            assertThat(nameOn(shard, author)).isEqualTo("Abigail R. Rose");
+        }
+        authorRepository.replicatePending();
+        assertThat(authorRepository.getPendingReplicationCount()).isEqualTo(1);
+        ReshardingJob job = new ReshardingTool(router, bookRepository, authorRepository, 50, Runnable::run).start(shards);
+        assertThat(job.getState()).isEqualTo(ReshardingJob.State.FAILED);
+        assertThat(router.currentShards()).hasSize(3);
+
+        replica.getJdbcTemplate().execute("ALTER TABLE authors_offline RENAME TO authors");
+        authorRepository.replicatePending();
+
+        assertThat(authorRepository.getPendingReplicationCount()).isZero();
+        assertThat(nameOn(replica, author)).isEqualTo("Abigail R. Rose");
+    }
+
+    @Test
+    public void testThatRetriedReplicationCarriesDeletesAndTombstones() {
+        AuthorEntity kept = authorRepository.save(TestDataUtil.createTestAuthorA());
+        AuthorEntity removed = authorRepository.save(TestDataUtil.createTestAuthorB());
+        Shard replica = shards.get(1);
+        replica.getJdbcTemplate().execute("ALTER TABLE authors RENAME TO authors_offline");
+
+        authorRepository.markDeleted(kept.getId(), Instant.now());
+        authorRepository.deleteById(removed.getId());
+        assertThat(authorRepository.getPendingReplicationCount()).isEqualTo(2);
+
+        replica.getJdbcTemplate().execute("ALTER TABLE authors_offline RENAME TO authors");
+        authorRepository.replicatePending();
+
+        assertThat(authorRepository.getPendingReplicationCount()).isZero();
+        assertThat(replica.getJdbcTemplate().queryForObject(
+                "SELECT COUNT(*) FROM authors WHERE id = ? AND deleted_at IS NOT NULL", Integer.class, kept.getId()))
+                .isEqualTo(1);
+        assertThat(replica.getJdbcTemplate().queryForObject(
+                "SELECT COUNT(*) FROM authors WHERE id = ?", Integer.class, removed.getId())).isZero();
+    }
+
+    private List<String> saveBooks() {
+        AuthorEntity author = authorRepository.save(TestDataUtil.createTestAuthorA());
+        List<String> isbns = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            BookEntity book = TestDataUtil.createTestBookA(author);
+            book.setIsbn(CatalogGenerator.isbn(i));
+            bookRepository.save(book);
+            isbns.add(book.getIsbn());
+        }
+        return isbns;
+    }
+
+    private String nameOn(Shard shard, AuthorEntity author) {
+        return shard.getJdbcTemplate().queryForObject(
+                "SELECT name FROM authors WHERE id = ?", String.class, author.getId());
+    }
+
+    private long countOn(Shard shard) {
+        return shard.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM books", Long.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.devlamq.database.snapshot;
+
+import com.devlamq.database.domain.entities.BookEntity;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CatalogSnapshotTests {
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private CatalogSnapshotBuilder builder;
+
+    @BeforeEach
+    public void createDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:snapshot-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        builder = new CatalogSnapshotBuilder(jdbcTemplate, directory);
+    }
+
+    @Test
+    public void testThatBooksAndAuthorsSurviveTheBinaryRoundTrip() throws Exception {
+        jdbcTemplate.update("INSERT INTO authors (id, name, age) VALUES (1, 'Abigail Rose', 80)");
+        jdbcTemplate.update("INSERT INTO authors (id, name, age) VALUES (2, NULL, NULL)");
+        jdbcTemplate.update("INSERT INTO books (isbn, title, author_id) VALUES ('978-1-2345-6789-1', 'Beyond the Horizon', 1)");
+        jdbcTemplate.update("INSERT INTO books (isbn, title, author_id) VALUES ('978-1-2345-6789-0', '\u00c9t\u00e9 \u2014 Summer', 2)");
+        jdbcTemplate.update("INSERT INTO books (isbn, title, author_id) VALUES ('978-1-2345-6789-2', '', NULL)");
+        jdbcTemplate.update("INSERT INTO books (isbn, title, author_id) VALUES ('978-1-2345-6789-3', NULL, 1)");
+
+        CatalogSnapshot snapshot = builder.build(42);
+
+        assertThat(snapshot.getSequence()).isEqualTo(42);
+        assertThat(snapshot.getAuthorCount()).isEqualTo(2);
+        assertThat(snapshot.getBookCount()).isEqualTo(4);
+        assertThat(snapshot.getSizeInBytes()).isEqualTo(Files.size(snapshot.getFile()));
+
+        BookEntity horizon = snapshot.find("978-1-2345-6789-1").orElseThrow();
+        assertThat(horizon.getTitle()).isEqualTo("Beyond the Horizon");
+        assertThat(horizon.getAuthorEntity().getId()).isEqualTo(1L);
+        assertThat(horizon.getAuthorEntity().getName()).isEqualTo("Abigail Rose");
+        assertThat(horizon.getAuthorEntity().getAge()).isEqualTo(80);
+
+        BookEntity summer = snapshot.find("978-1-2345-6789-0").orElseThrow();
+        assertThat(summer.getTitle()).isEqualTo("\u00c9t\u00e9 \u2014 Summer");
+        assertThat(summer.getAuthorEntity().getName()).isNull();
+        assertThat(summer.getAuthorEntity().getAge()).isNull();
+
+        BookEntity untitled = snapshot.find("978-1-2345-6789-2").orElseThrow();
+        assertThat(untitled.getTitle()).isEmpty();
+        assertThat(untitled.getAuthorEntity()).isNull();
+        assertThat(snapshot.authorIdOf(2)).isEqualTo(-1);
+
+        assertThat(snapshot.find("978-1-2345-6789-3").orElseThrow().getTitle()).isNull();
+        assertThat(snapshot.find("978-1-2345-6789-4")).isEmpty();
+    }
+
+    @Test
+    public void testThatBooksAreOrderedByIsbnBytesForKeysetPaging() throws Exception {
+        jdbcTemplate.update("INSERT INTO books (isbn, title) VALUES ('978-b', 'B')");
+        jdbcTemplate.update("INSERT INTO books (isbn, title) VALUES ('978-B', 'upper B')");
+        jdbcTemplate.update("INSERT INTO books (isbn, title) VALUES ('978-a', 'A')");
+        jdbcTemplate.update("INSERT INTO books (isbn, title) VALUES ('978-10', '10')");
+
+        CatalogSnapshot snapshot = builder.build(1);
+
+        List<String> isbns = new ArrayList<>();
+        for (int index = 0; index < snapshot.getBookCount(); index++) {
+            isbns.add(snapshot.isbnAt(index));
+        }
+        assertThat(isbns).containsExactly("978-10", "978-B", "978-a", "978-b");
+        assertThat(snapshot.indexAfter("")).isZero();
+        assertThat(snapshot.indexAfter("978-B")).isEqualTo(2);
+        assertThat(snapshot.indexAfter("978-C")).isEqualTo(2);
+        assertThat(snapshot.indexAfter("978-z")).isEqualTo(4);
+    }
+
+    @Test
+    public void testThatEmptyCatalogBuildsAnEmptySnapshot() throws Exception {
+        CatalogSnapshot snapshot = builder.build(0);
+
+        assertThat(snapshot.getBookCount()).isZero();
+        assertThat(snapshot.getAuthorCount()).isZero();
+        assertThat(snapshot.find("978-1-2345-6789-0")).isEmpty();
+        assertThat(snapshot.indexAfter("978-1-2345-6789-0")).isZero();
+    }
+}
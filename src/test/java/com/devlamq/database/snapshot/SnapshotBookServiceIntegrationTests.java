@@ -0,0 +1,133 @@
+package com.devlamq.database.snapshot;
+
+import com.devlamq.database.TestDataUtil;
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.fixtures.DatabaseCleaner;
+import com.devlamq.database.services.AuthorService;
+import com.devlamq.database.services.BookService;
+import com.devlamq.database.services.CatalogDerivedState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "books.snapshot.enabled=true",
+        "books.snapshot.initial-delay=PT1H",
+        "books.snapshot.refresh-interval=PT1H"
+})
+@ExtendWith(SpringExtension.class)
+public class SnapshotBookServiceIntegrationTests {
+
+    private final SnapshotBookService snapshotBookService;
+
+    private final BookService bookService;
+
+    private final AuthorService authorService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DatabaseCleaner databaseCleaner;
+
+    @Autowired
+    public SnapshotBookServiceIntegrationTests(
+            SnapshotBookService snapshotBookService,
+            BookService bookService,
+            AuthorService authorService,
+            JdbcTemplate jdbcTemplate,
+            List<CatalogDerivedState> derivedStates) {
+        this.snapshotBookService = snapshotBookService;
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseCleaner = new DatabaseCleaner(jdbcTemplate, derivedStates);
+    }
+
+    @BeforeEach
+    public void resetDatabase() {
+        databaseCleaner.truncateCatalog();
+        snapshotBookService.rebuild();
+    }
+
+    @Test
+    public void testThatSnapshotServesBooksThatExistedWhenItWasBuilt() {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        saveBook(TestDataUtil.createTestBookA(author));
+        saveBook(TestDataUtil.createTestBookB(author));
+        snapshotBookService.rebuild();
+        jdbcTemplate.update("UPDATE books SET title = 'changed behind the snapshot'");
+
+        assertThat(bookService).isSameAs(snapshotBookService);
+        assertThat(snapshotBookService.getOverlaySize()).isZero();
+        assertThat(bookService.findOne("978-1-2345-6789-0")).get()
+                .extracting(BookEntity::getTitle).isEqualTo("The Shadow in the Attic");
+        assertThat(bookService.findAll()).extracting(BookEntity::getIsbn)
+                .containsExactlyInAnyOrder("978-1-2345-6789-0", "978-1-2345-6789-1");
+    }
+
+    @Test
+    public void testThatWritesAfterTheSnapshotAreVisibleAndDeletesAreHidden() {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        AuthorEntity otherAuthor = authorService.save(TestDataUtil.createTestAuthorB());
+        BookEntity shadow = saveBook(TestDataUtil.createTestBookA(author));
+        BookEntity deleted = saveBook(TestDataUtil.createTestBookB(otherAuthor));
+        snapshotBookService.rebuild();
+
+        shadow.setTitle("Beneath the Attic");
+        bookService.partialUpdate(shadow.getIsbn(), shadow);
+        bookService.delete(deleted.getIsbn());
+        saveBook(TestDataUtil.createTestBookC(author));
+        author.setName("Abigail R. Rose");
+        authorService.save(author);
+
+        assertThat(snapshotBookService.getOverlaySize()).isEqualTo(4);
+        assertThat(bookService.findOne("978-1-2345-6789-0")).get()
+                .extracting(BookEntity::getTitle).isEqualTo("Beneath the Attic");
+        assertThat(bookService.findOne("978-1-2345-6789-1")).isEmpty();
+        assertThat(bookService.isExists("978-1-2345-6789-1")).isFalse();
+        assertThat(bookService.findOne("978-1-2345-6789-2")).isPresent();
+        assertThat(bookService.findAll()).extracting(BookEntity::getIsbn)
+                .containsExactlyInAnyOrder("978-1-2345-6789-0", "978-1-2345-6789-2");
+        assertThat(bookService.findPage("", 10)).extracting(BookEntity::getIsbn)
+                .containsExactly("978-1-2345-6789-0", "978-1-2345-6789-2");
+        assertThat(bookService.findAll()).allSatisfy(book ->
+                assertThat(book.getAuthorEntity().getName()).isEqualTo("Abigail R. Rose"));
+    }
+
+    @Test
+    public void testThatRebuildSwapsInTheNewSnapshotAndDrainsTheOverlay() throws Exception {
+        AuthorEntity author = authorService.save(TestDataUtil.createTestAuthorA());
+        saveBook(TestDataUtil.createTestBookA(author));
+        snapshotBookService.rebuild();
+        CatalogSnapshot previous = snapshotBookService.getSnapshot();
+        Path previousFile = previous.getFile();
+
+        saveBook(TestDataUtil.createTestBookB(author));
+        assertThat(snapshotBookService.getOverlaySize()).isEqualTo(1);
+        snapshotBookService.rebuild();
+
+        CatalogSnapshot next = snapshotBookService.getSnapshot();
+        assertThat(next).isNotSameAs(previous);
+        assertThat(next.getSequence()).isGreaterThan(previous.getSequence());
+        assertThat(next.getBookCount()).isEqualTo(2);
+        assertThat(next.contains("978-1-2345-6789-1")).isTrue();
+        assertThat(snapshotBookService.getOverlaySize()).isZero();
+        assertThat(Files.exists(previousFile)).isFalse();
+        assertThat(bookService.findPage("978-1-2345-6789-0", 10)).extracting(BookEntity::getIsbn)
+                .containsExactly("978-1-2345-6789-1");
+    }
+
+    private BookEntity saveBook(BookEntity book) {
+        return bookService.createUpdateBook(book.getIsbn(), book);
+    }
+}
@@ -0,0 +1,33 @@
+package com.devlamq.database.sqlprofile;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryShapesTests {
+
+    @Test
+    public void testThatLiteralsAndInListsCollapseToOneShape() {
+        assertThat(QueryShapes.of("select * from books where isbn = '978-1' and author_id in (1, 2, 3)"))
+                .isEqualTo(QueryShapes.of("select *   from books\nwhere isbn = 'x''y' and author_id IN (?,?)"))
+                .isEqualTo("select * from books where isbn = ? and author_id in (?)");
+    }
+
+    @Test
+    public void testThatHibernateAliasesAreKept() {
+        assertThat(QueryShapes.of("select b1_0.isbn from books b1_0 where b1_0.isbn=?"))
+                .isEqualTo("select b1_0.isbn from books b1_0 where b1_0.isbn=?");
+    }
+
+    @Test
+    public void testThatRingBufferKeepsOnlyTheMostRecentSamples() {
+        StatementRingBuffer buffer = new StatementRingBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            buffer.add(new StatementSample("select " + i, i, 0));
+        }
+
+        assertThat(buffer.getRecorded()).isEqualTo(10);
+        assertThat(buffer.samples()).extracting(StatementSample::getSql)
+                .containsExactlyInAnyOrder("select 6", "select 7", "select 8", "select 9");
+    }
+}
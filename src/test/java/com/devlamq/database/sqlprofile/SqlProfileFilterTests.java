@@ -0,0 +1,47 @@
+package com.devlamq.database.sqlprofile;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlProfileFilterTests {
+
+    private final SqlProfiler profiler = new SqlProfiler(16, 10);
+
+    private final SqlProfileFilter filter = new SqlProfileFilter(profiler, 20, Duration.ofSeconds(1), Duration.ofSeconds(1));
+
+    @Test
+    public void testThatHeaderIsSetBeforeTheResponseCommits() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> headerAtCommit = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/books"), response, (request, chainResponse) -> {
+            profiler.statementExecuted("select * from books", 1_000, 3);
+            profiler.statementExecuted("select * from authors", 1_000, 1);
+            chainResponse.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+            chainResponse.flushBuffer();
+            headerAtCommit.set(response.getHeader("X-SQL-Statements"));
+            profiler.statementExecuted("select 1", 1_000, 1);
+        });
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(headerAtCommit.get()).isEqualTo("2");
+        assertThat(response.getHeader("X-SQL-Statements")).isEqualTo("2");
+    }
+
+    @Test
+    public void testThatHeaderIsSetForEmptyResponses() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/books/978-1-2345-6789-0"), response,
+                (request, chainResponse) -> profiler.statementExecuted("delete from books", 1_000, 0));
+
+        assertThat(response.getHeader("X-SQL-Statements")).isEqualTo("1");
+    }
+}
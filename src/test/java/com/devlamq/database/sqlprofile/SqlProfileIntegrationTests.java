@@ -0,0 +1,82 @@
+package com.devlamq.database.sqlprofile;
+
+import com.devlamq.database.TestDataUtil;
+import com.devlamq.database.domain.entities.AuthorEntity;
+import com.devlamq.database.domain.entities.BookEntity;
+import com.devlamq.database.fixtures.DatabaseCleaner;
+import com.devlamq.database.services.BookService;
+import com.devlamq.database.services.CatalogDerivedState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsStringIgnoringCase;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+
+@SpringBootTest(properties = {
+        "books.sql-profile.enabled=true",
+        "management.endpoints.web.exposure.include=health,sqlprofile"
+})
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc
+public class SqlProfileIntegrationTests {
+
+    private final MockMvc mockMvc;
+
+    private final BookService bookService;
+
+    private final DatabaseCleaner databaseCleaner;
+
+    @Autowired
+    public SqlProfileIntegrationTests(MockMvc mockMvc, BookService bookService, JdbcTemplate jdbcTemplate, List<CatalogDerivedState> derivedStates) {
+        this.mockMvc = mockMvc;
+        this.bookService = bookService;
+        this.databaseCleaner = new DatabaseCleaner(jdbcTemplate, derivedStates);
+    }
+
+    @BeforeEach
+    public void resetDatabase() {
+        databaseCleaner.truncateCatalog();
+    }
+
+    @Test
+    public void testThatRequestReportsItsStatementCount() throws Exception {
+        AuthorEntity author = TestDataUtil.createTestAuthorA();
+        author.setId(null);
+        BookEntity book = TestDataUtil.createTestBookA(author);
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books")
+        ).andExpect(
+                MockMvcResultMatchers.header().string("X-SQL-Statements", not("0"))
+        );
+    }
+
+    @Test
+    public void testThatSqlProfileEndpointListsBookQueryShapes() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/books"));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/actuator/sqlprofile")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.recordedStatements").value(greaterThan(0))
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.topShapes[*].shape", hasItem(containsStringIgnoringCase("from books")))
+        );
+    }
+}
@@ -0,0 +1,101 @@
+package com.devlamq.database.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompactRadixTrieTests {
+
+    @Test
+    public void testThatTopReturnsKeysUnderPrefixOrderedByWeight() {
+        CompactRadixTrie trie = CompactRadixTrie.build(List.of(
+                key("the last ember", 3),
+                key("the shadow in the attic", 7),
+                key("the shadow line", 1),
+                key("beyond the horizon", 9)));
+
+        assertThat(keys(trie.top(bytes("the "), false, 10))).containsExactly(
+                "the shadow in the attic", "the last ember", "the shadow line");
+        assertThat(keys(trie.top(bytes("the sh"), false, 1))).containsExactly("the shadow in the attic");
+        assertThat(keys(trie.top(bytes("beyond the horizon"), false, 10))).containsExactly("beyond the horizon");
+        assertThat(trie.top(bytes("missing"), false, 10)).isEmpty();
+    }
+
+    @Test
+    public void testThatTopMatchesAsciiLettersIgnoringCase() {
+        CompactRadixTrie trie = CompactRadixTrie.build(List.of(
+                key("The Last Ember", 1),
+                key("the lighthouse", 2)));
+
+        assertThat(keys(trie.top(bytes("THE L"), true, 10))).containsExactly("the lighthouse", "The Last Ember");
+        assertThat(trie.top(bytes("THE L"), false, 10)).isEmpty();
+    }
+
+    @Test
+    public void testThatIncrementReordersSuggestions() {
+        CompactRadixTrie trie = CompactRadixTrie.build(List.of(
+                key("abc", 2),
+                key("abd", 1)));
+
+        assertThat(trie.increment(bytes("abd"))).isTrue();
+        assertThat(trie.increment(bytes("abd"))).isTrue();
+        assertThat(trie.increment(bytes("ab"))).isFalse();
+
+        assertThat(trie.weightOf(bytes("abd"))).isEqualTo(3);
+        assertThat(keys(trie.top(bytes("a"), false, 10))).containsExactly("abd", "abc");
+    }
+
+    @Test
+    public void testThatTopSkipsRejectedKeys() {
+        CompactRadixTrie trie = CompactRadixTrie.build(List.of(
+                key("alpha", 3),
+                key("alpine", 2),
+                key("altitude", 1)));
+
+        List<CompactRadixTrie.Match> matches = trie.top(bytes("al"), false, 2,
+                key -> !new String(key, StandardCharsets.UTF_8).equals("alpha"));
+
+        assertThat(keys(matches)).containsExactly("alpine", "altitude");
+    }
+
+    @Test
+    public void testThatMultiByteKeysRoundTrip() {
+        CompactRadixTrie trie = CompactRadixTrie.build(List.of(
+                key("\u00c9mile", 1),
+                key("\u00c9loge de l'ombre", 2)));
+
+        assertThat(keys(trie.top(bytes("\u00c9"), true, 10))).containsExactly("\u00c9loge de l'ombre", "\u00c9mile");
+        assertThat(trie.weightOf(bytes("\u00c9mile"))).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatEmptyTrieHasNoSuggestions() {
+        CompactRadixTrie trie = CompactRadixTrie.build(List.of());
+
+        assertThat(trie.size()).isZero();
+        assertThat(trie.top(bytes("a"), true, 10)).isEmpty();
+        assertThat(trie.weightOf(bytes("a"))).isEqualTo(-1);
+    }
+
+    @Test
+    public void testThatKeysThatArePrefixesOfOtherKeysAreRejected() {
+        assertThatThrownBy(() -> CompactRadixTrie.build(List.of(key("book", 1), key("bookshelf", 1))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CompactRadixTrie.Key key(String key, int weight) {
+        return new CompactRadixTrie.Key(bytes(key), weight);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> keys(List<CompactRadixTrie.Match> matches) {
+        return matches.stream().map(match -> new String(match.getKey(), StandardCharsets.UTF_8)).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package com.devlamq.database.suggest;
+
+import com.devlamq.database.fixtures.CatalogGenerator;
+import lombok.extern.java.Log;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Log
+@Tag("performance")
+public class SuggestionHeapBenchmarkTests {
+
+    private static final int BOOKS = 1_000_000;
+
+    private static final String[] WORDS = {
+            "shadow", "ember", "horizon", "attic", "river", "night",
+            "garden", "silent", "winter", "house", "glass", "paper"
+    };
+
+    @Test
+    public void compareHeapOfTrieAndStringSet() {
+        long before = usedHeap();
+        Set<String> strings = new HashSet<>(titleKeys());
+        long stringSetBytes = usedHeap() - before;
+        assertThat(strings).hasSize(BOOKS);
+        strings = null;
+
+        before = usedHeap();
+        CompactRadixTrie trie = CompactRadixTrie.build(titleKeys().stream()
+                .map(key -> new CompactRadixTrie.Key(key.getBytes(StandardCharsets.UTF_8), 0))
+                .toList());
+        long trieBytes = usedHeap() - before;
+        assertThat(trie.size()).isEqualTo(BOOKS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            trie.top(WORDS[i % WORDS.length].substring(0, 2).getBytes(StandardCharsets.UTF_8), true, 10);
+        }
+        long topMicros = (System.nanoTime() - start) / 10_000 / 1_000;
+
+        log.info(String.format("%d keys: HashSet<String> %d bytes, trie %d bytes (%d estimated), top-10 %d us",
+                BOOKS, stringSetBytes, trieBytes, trie.getSizeInBytes(), topMicros));
+        assertThat(trieBytes).isLessThan(stringSetBytes / 2);
+        assertThat(trie.getSizeInBytes()).isLessThan(stringSetBytes / 2);
+        assertThat(topMicros).isLessThan(1_000);
+    }
+
+    private static List<String> titleKeys() {
+        Random random = new Random(42L);
+        List<String> keys = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            keys.add(title + '\0' + CatalogGenerator.isbn(i));
+        }
+        return keys;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}